@@ -0,0 +1,115 @@
+package xyz.nucleoid.bedwars.benchmark;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.util.DyeColor;
+import net.minecraft.util.math.BlockPos;
+import xyz.nucleoid.bedwars.game.BwMap;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic game data shared by the benchmarks. Layouts mirror the generated sky maps: team islands on a ring around
+ * the center with protected beds and generators, and illegal regions above each base.
+ */
+public final class BenchmarkSupport {
+    public static final long SEED = 0x5EED;
+
+    private static final int ISLAND_RING_RADIUS = 80;
+    private static final int ISLAND_HEIGHT = 64;
+
+    private static boolean bootstrapped;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Initializes the vanilla registries so that items and blocks can be used outside of a running game.
+     */
+    public static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            Bootstrap.initialize();
+            bootstrapped = true;
+        }
+    }
+
+    public static List<GameTeam> createTeams(int count) {
+        DyeColor[] colors = DyeColor.values();
+
+        List<GameTeam> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DyeColor color = colors[i % colors.length];
+            teams.add(new GameTeam("team_" + i, "Team " + i, color));
+        }
+
+        return teams;
+    }
+
+    public static BlockPos islandOrigin(int team, int teamCount) {
+        double theta = 2.0 * Math.PI * team / teamCount;
+        int x = (int) Math.round(Math.cos(theta) * ISLAND_RING_RADIUS);
+        int z = (int) Math.round(Math.sin(theta) * ISLAND_RING_RADIUS);
+        return new BlockPos(x, ISLAND_HEIGHT, z);
+    }
+
+    public static BwMap createMap(int teamCount) {
+        BwMap map = new BwMap();
+
+        for (int i = 0; i < teamCount; i++) {
+            BlockPos origin = islandOrigin(i, teamCount);
+
+            // team generator, bed and chests
+            map.addProtectedBlocks(new BlockBounds(origin.add(-1, 0, -1), origin.add(1, 0, 1)));
+            map.addProtectedBlocks(new BlockBounds(origin.add(0, 1, 4), origin.add(1, 1, 4)));
+            map.addProtectedBlock(origin.add(-1, 1, -2).asLong());
+            map.addProtectedBlock(origin.add(1, 1, -2).asLong());
+
+            // no building above the base
+            map.addIllegalRegion(new BlockBounds(origin.add(-8, 24, -8), origin.add(8, 40, 8)));
+        }
+
+        for (int i = 0; i < teamCount; i++) {
+            BlockPos diamond = islandOrigin(i, teamCount);
+            diamond = new BlockPos(diamond.getX() / 2, ISLAND_HEIGHT, diamond.getZ() / 2);
+            map.addProtectedBlocks(BlockBounds.of(diamond));
+        }
+
+        map.addProtectedBlocks(new BlockBounds(new BlockPos(-1, ISLAND_HEIGHT, -1), new BlockPos(1, ISLAND_HEIGHT, 1)));
+
+        return map;
+    }
+
+    /**
+     * @return positions spread over the play area, roughly where players move and place blocks
+     */
+    public static BlockPos[] samplePositions(int count, long seed) {
+        Random random = new Random(seed);
+        int extent = ISLAND_RING_RADIUS + 16;
+
+        BlockPos[] positions = new BlockPos[count];
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(extent * 2) - extent;
+            int y = ISLAND_HEIGHT - 8 + random.nextInt(48);
+            int z = random.nextInt(extent * 2) - extent;
+            positions[i] = new BlockPos(x, y, z);
+        }
+
+        return positions;
+    }
+
+    /**
+     * @return every position within the given radius of the center, as a TNT or fireball explosion would affect
+     */
+    public static List<BlockPos> explosionBlocks(BlockPos center, int radius) {
+        List<BlockPos> blocks = new ArrayList<>();
+        for (BlockPos pos : BlockPos.iterate(center.add(-radius, -radius, -radius), center.add(radius, radius, radius))) {
+            if (pos.getSquaredDistance(center) <= radius * radius) {
+                blocks.add(pos.toImmutable());
+            }
+        }
+        return blocks;
+    }
+}
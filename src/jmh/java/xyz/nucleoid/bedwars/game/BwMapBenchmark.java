@@ -0,0 +1,81 @@
+package xyz.nucleoid.bedwars.game;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block protection and legality checks, which run on every block break, block placement, explosion and on the
+ * periodic out-of-bounds check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BwMapBenchmark {
+    private static final int POSITION_COUNT = 4096;
+    private static final int EXPLOSION_RADIUS = 4;
+
+    @Param({ "4", "8", "16" })
+    public int teams;
+
+    private BwMap map;
+    private BlockPos[] positions;
+    private List<BlockPos> explosion;
+
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        this.map = BenchmarkSupport.createMap(this.teams);
+        this.positions = BenchmarkSupport.samplePositions(POSITION_COUNT, BenchmarkSupport.SEED);
+
+        // centered on a bed so that the filter has something to remove
+        BlockPos bed = BenchmarkSupport.islandOrigin(0, this.teams).add(0, 1, 4);
+        this.explosion = BenchmarkSupport.explosionBlocks(bed, EXPLOSION_RADIUS);
+    }
+
+    private BlockPos nextPosition() {
+        BlockPos pos = this.positions[this.cursor];
+        this.cursor = (this.cursor + 1) & (POSITION_COUNT - 1);
+        return pos;
+    }
+
+    @Benchmark
+    public boolean isProtectedBlock() {
+        return this.map.isProtectedBlock(this.nextPosition());
+    }
+
+    @Benchmark
+    public boolean isLegalAt() {
+        return this.map.isLegalAt(this.nextPosition());
+    }
+
+    /**
+     * Mirrors the {@code ExplosionListener} in {@code BwActive}. The copy of the affected block list is included in
+     * the measurement, as the explosion allocates that list in the game too.
+     */
+    @Benchmark
+    public void explosionFilter(Blackhole blackhole) {
+        List<BlockPos> affectedBlocks = new ArrayList<>(this.explosion);
+        this.map.removeProtectedBlocks(affectedBlocks);
+        blackhole.consume(affectedBlocks);
+    }
+
+    /**
+     * Filters the same list through single lookups, for comparison with the bulk query above.
+     */
+    @Benchmark
+    public void explosionFilterPerBlock(Blackhole blackhole) {
+        List<BlockPos> affectedBlocks = new ArrayList<>(this.explosion);
+        affectedBlocks.removeIf(this.map::isProtectedBlock);
+        blackhole.consume(affectedBlocks);
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.PlayerRef;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-team participant lookups and scoreboard content, which are built from the team index kept in
+ * {@link BwActive.TeamState}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BwActiveBenchmark {
+    @Param({ "4", "8", "16" })
+    public int teams;
+
+    @Param({ "16", "64", "200" })
+    public int players;
+
+    private List<GameTeam> gameTeams;
+    private final Map<GameTeam, BwActive.TeamState> teamStates = new Reference2ObjectOpenHashMap<>();
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+
+        this.gameTeams = BenchmarkSupport.createTeams(this.teams);
+        for (GameTeam team : this.gameTeams) {
+            this.teamStates.put(team, new BwActive.TeamState(null, team));
+        }
+
+        Random random = new Random(BenchmarkSupport.SEED);
+        for (int i = 0; i < this.players; i++) {
+            GameTeam team = this.gameTeams.get(i % this.teams);
+            BwActive.TeamState teamState = this.teamStates.get(team);
+
+            PlayerRef ref = PlayerRef.ofUuid(new UUID(random.nextLong(), random.nextLong()));
+            teamState.participants.add(new BwParticipant(null, ref, team));
+            teamState.onlineCount++;
+            teamState.aliveCount++;
+        }
+
+        // a game in progress: some beds gone, one team out
+        for (int i = 0; i < this.gameTeams.size(); i++) {
+            BwActive.TeamState teamState = this.teamStates.get(this.gameTeams.get(i));
+            if (i % 3 == 0) {
+                teamState.hasBed = false;
+            }
+            if (i == this.gameTeams.size() - 1) {
+                teamState.eliminated = true;
+                teamState.aliveCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Walks every team's participants the way {@link BwActive#participantsFor} callers do.
+     */
+    @Benchmark
+    public int participantsFor() {
+        int count = 0;
+        for (int i = 0; i < this.gameTeams.size(); i++) {
+            List<BwParticipant> participants = BwActive.participantsFor(this.teamStates, this.gameTeams.get(i));
+            for (int j = 0; j < participants.size(); j++) {
+                if (participants.get(j).isAlive()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void scoreboardContent(Blackhole blackhole) {
+        Collection<BwActive.TeamState> teams = this.teamStates.values();
+        BwScoreboard.writeContent(20 * 60 * 7 + 20 * 13, teams, blackhole::consume);
+    }
+}
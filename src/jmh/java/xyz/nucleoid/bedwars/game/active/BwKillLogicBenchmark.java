@@ -0,0 +1,65 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.openjdk.jmh.annotations.*;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taking resources from a killed player's inventory. The inventory is refilled before every invocation, so the
+ * measurement covers only the scan and removal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BwKillLogicBenchmark {
+    private static final int INVENTORY_SIZE = 41;
+
+    private ItemStack[] contents;
+    private SimpleInventory inventory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+
+        Item[] items = new Item[] {
+                Items.IRON_INGOT, Items.GOLD_INGOT, Items.DIAMOND, Items.EMERALD,
+                Items.WHITE_WOOL, Items.OAK_PLANKS, Items.STONE_SWORD, Items.SHEARS, Items.ARROW
+        };
+
+        // roughly half of a mid-game inventory is resources
+        Random random = new Random(BenchmarkSupport.SEED);
+        this.contents = new ItemStack[INVENTORY_SIZE];
+        for (int slot = 0; slot < INVENTORY_SIZE; slot++) {
+            if (random.nextInt(4) == 0) {
+                this.contents[slot] = ItemStack.EMPTY;
+            } else {
+                Item item = items[random.nextInt(items.length)];
+                this.contents[slot] = new ItemStack(item, 1 + random.nextInt(item.getMaxCount()));
+            }
+        }
+
+        this.inventory = new SimpleInventory(INVENTORY_SIZE);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        for (int slot = 0; slot < INVENTORY_SIZE; slot++) {
+            this.inventory.setStack(slot, this.contents[slot].copy());
+        }
+    }
+
+    @Benchmark
+    public Collection<ItemStack> takeResources() {
+        return BwKillLogic.takeResources(this.inventory);
+    }
+}
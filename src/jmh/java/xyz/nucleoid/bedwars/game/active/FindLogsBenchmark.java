@@ -0,0 +1,107 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The flood fill used for automatic tree breaking, run against a synthetic tree with branches and leaves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindLogsBenchmark {
+    @Param({ "5", "12", "24" })
+    public int trunkHeight;
+
+    private TreeView tree;
+    private final BlockPos root = new BlockPos(0, 64, 0);
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+
+        this.tree = new TreeView();
+
+        BlockState log = Blocks.OAK_LOG.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+
+        Random random = new Random(BenchmarkSupport.SEED);
+        for (int y = 0; y < this.trunkHeight; y++) {
+            BlockPos trunk = this.root.up(y);
+            this.tree.set(trunk, log);
+
+            // diagonal branches every few blocks
+            if (y > 2 && random.nextInt(3) == 0) {
+                BlockPos branch = trunk;
+                int dx = random.nextInt(3) - 1;
+                int dz = random.nextInt(3) - 1;
+                for (int i = 0; i < 3; i++) {
+                    branch = branch.add(dx, 1, dz);
+                    this.tree.set(branch, log);
+                }
+            }
+        }
+
+        BlockPos top = this.root.up(this.trunkHeight);
+        for (BlockPos pos : BlockPos.iterate(top.add(-3, -2, -3), top.add(3, 2, 3))) {
+            if (this.tree.getBlockState(pos).isAir()) {
+                this.tree.set(pos, leaves);
+            }
+        }
+    }
+
+    @Benchmark
+    public Set<BlockPos> findLogs() {
+        Set<BlockPos> logs = new HashSet<>();
+        logs.add(this.root);
+
+        BwActive.findLogs(this.tree, this.root, logs);
+
+        return logs;
+    }
+
+    private static final class TreeView implements BlockView {
+        private final Long2ObjectMap<BlockState> blocks = new Long2ObjectOpenHashMap<>();
+
+        TreeView() {
+            this.blocks.defaultReturnValue(Blocks.AIR.getDefaultState());
+        }
+
+        void set(BlockPos pos, BlockState state) {
+            this.blocks.put(pos.asLong(), state);
+        }
+
+        @Nullable
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return this.blocks.get(pos.asLong());
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return this.getBlockState(pos).getFluidState();
+        }
+    }
+}
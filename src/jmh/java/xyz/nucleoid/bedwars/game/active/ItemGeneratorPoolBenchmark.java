@@ -0,0 +1,51 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.*;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemGeneratorPoolBenchmark {
+    @Param({ "team_lvl_1", "team_lvl_3", "diamond" })
+    public String pool;
+
+    private ItemGeneratorPool generatorPool;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+
+        switch (this.pool) {
+            case "team_lvl_1":
+                this.generatorPool = ItemGeneratorPool.TEAM_LVL_1;
+                break;
+            case "team_lvl_3":
+                this.generatorPool = ItemGeneratorPool.TEAM_LVL_3;
+                break;
+            default:
+                this.generatorPool = ItemGeneratorPool.DIAMOND;
+                break;
+        }
+
+        this.random = new Random(BenchmarkSupport.SEED);
+    }
+
+    @Benchmark
+    public ItemStack sample() {
+        return this.generatorPool.sample(this.random);
+    }
+
+    @Benchmark
+    public int sampleEntry() {
+        return this.generatorPool.sampleEntry(this.random);
+    }
+}
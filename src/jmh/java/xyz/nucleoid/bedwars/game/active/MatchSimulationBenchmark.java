@@ -0,0 +1,38 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole simulated matches, see {@link MatchSimulator}. Each iteration plays one match with a different seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatchSimulationBenchmark {
+    private static final long MAX_TICKS = 20 * 60 * 60;
+
+    @Param({ "4", "8", "16" })
+    public int teams;
+
+    @Param({ "16", "64", "200" })
+    public int players;
+
+    private long seed = BenchmarkSupport.SEED;
+
+    @Setup(Level.Iteration)
+    public void nextSeed() {
+        this.seed++;
+    }
+
+    @Benchmark
+    public MatchSimulator.Result match() {
+        int playersPerTeam = Math.max(1, this.players / this.teams);
+        return new MatchSimulator(this.teams, playersPerTeam, this.seed, MAX_TICKS).run();
+    }
+}
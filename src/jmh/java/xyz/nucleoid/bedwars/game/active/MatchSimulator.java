@@ -0,0 +1,474 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+import xyz.nucleoid.bedwars.game.active.economy.BwEconomy;
+import xyz.nucleoid.bedwars.game.active.economy.BwResource;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
+import xyz.nucleoid.bedwars.game.active.economy.ResourceFlow;
+import xyz.nucleoid.bedwars.game.active.profiler.BwTickProfiler;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+import xyz.nucleoid.bedwars.game.active.scheduler.BwScheduler;
+import xyz.nucleoid.bedwars.game.active.shop.BwItemShop;
+import xyz.nucleoid.bedwars.game.active.upgrade.Upgrade;
+import xyz.nucleoid.bedwars.game.active.upgrade.UpgradeType;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+import xyz.nucleoid.plasmid.util.PlayerRef;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Plays out a whole BedWars match in a plain JVM with scripted participants. {@link BwActive} itself needs a server
+ * world and connected players, so the simulator instead drives the parts of the game that do not: the game
+ * scheduler, the generator spawn step, death resolution in {@link BwKillLogic}, upgrade purchases, win state in
+ * {@link BwWinStateLogic}, the economy and scoreboard content. Only what needs a world is scripted here: who fights
+ * whom, who picks up generated items, and when beds are broken.
+ * <p>
+ * All randomness comes from the seed, so two runs with the same settings play out the same match. Tick time and
+ * allocation are recorded per {@link TickPhase}.
+ */
+public final class MatchSimulator implements BwWinStateLogic.Host {
+    private static final int INVENTORY_SIZE = 41;
+
+    private static final long FIRST_UPGRADE_TICKS = 20 * 60 * 5;
+    private static final long SECOND_UPGRADE_TICKS = 20 * 60 * 10;
+
+    // the chance per alive player per tick of getting into a fight
+    private static final double FIGHT_CHANCE = 1.0 / (20 * 40);
+    // the chance per team per second of their bed being broken
+    private static final double BED_BREAK_CHANCE = 1.0 / (60 * 12);
+
+    // upgrades are bought in this order, and blocks with whatever iron is left
+    private static final UpgradeType<?>[] UPGRADE_ORDER = { UpgradeType.SWORD, UpgradeType.ARMOR, UpgradeType.PICKAXE, UpgradeType.AXE };
+    private static final Price BLOCK_PRICE = Price.ofIron(16);
+
+    private final int teamCount;
+    private final int playersPerTeam;
+    private final long maxTicks;
+
+    private final Random random;
+
+    private final BwTickProfiler profiler = BwTickProfiler.createDetached();
+    private final BwScheduler scheduler = new BwScheduler(this.profiler);
+    private final BwWinStateLogic winStateLogic = new BwWinStateLogic(this);
+    private final BwEconomy economy;
+
+    private final List<GameTeam> teams;
+    private final Map<GameTeam, BwActive.TeamState> teamStates = new Object2ObjectLinkedOpenHashMap<>();
+    private final List<SimulatedPlayer> players = new ObjectArrayList<>();
+    private final Map<GameTeam, List<SimulatedPlayer>> teamPlayers = new Object2ObjectLinkedOpenHashMap<>();
+
+    private final long[] allocatedBytes = new long[TickPhase.values().length];
+    private final boolean allocationsSupported;
+
+    private long time;
+    @Nullable
+    private BwWinStateLogic.WinResult winResult;
+
+    private int kills;
+    private int finalKills;
+    private int bedsBroken;
+    private int scoreboardLines;
+
+    public MatchSimulator(int teamCount, int playersPerTeam, long seed, long maxTicks) {
+        this.teamCount = teamCount;
+        this.playersPerTeam = playersPerTeam;
+        this.maxTicks = maxTicks;
+        this.random = new Random(seed);
+        this.teams = BenchmarkSupport.createTeams(teamCount);
+        this.economy = new BwEconomy("simulated", () -> this.time, this.teams);
+        this.allocationsSupported = getAllocatedBytes() >= 0;
+    }
+
+    public Result run() {
+        BenchmarkSupport.bootstrap();
+
+        this.setup();
+
+        while (this.winResult == null && this.time < this.maxTicks) {
+            long bytes = getAllocatedBytes();
+            long start = this.profiler.begin();
+
+            this.tickPhase(TickPhase.SCHEDULER, () -> this.scheduler.tick(this.time));
+            if (this.winResult == null) {
+                this.tickPhase(TickPhase.PLAYER_LOGIC, this::tickFights);
+            }
+
+            this.profiler.end(TickPhase.TOTAL, start);
+            this.allocatedBytes[TickPhase.TOTAL.ordinal()] += getAllocatedBytes() - bytes;
+
+            this.time++;
+        }
+
+        return new Result(this);
+    }
+
+    private void setup() {
+        for (GameTeam team : this.teams) {
+            BwActive.TeamState teamState = new BwActive.TeamState(null, team);
+            this.teamStates.put(team, teamState);
+
+            List<SimulatedPlayer> teamPlayers = new ObjectArrayList<>();
+            this.teamPlayers.put(team, teamPlayers);
+
+            for (int i = 0; i < this.playersPerTeam; i++) {
+                PlayerRef ref = PlayerRef.ofUuid(new UUID(this.random.nextLong(), this.random.nextLong()));
+                BwParticipant participant = new BwParticipant(null, ref, team);
+
+                SimulatedPlayer player = new SimulatedPlayer(participant, teamState);
+                this.players.add(player);
+                teamPlayers.add(player);
+                teamState.participants.add(participant);
+                teamState.onlineCount++;
+                teamState.aliveCount++;
+            }
+        }
+
+        this.scheduler.start(0);
+        this.economy.start(0);
+
+        for (BwActive.TeamState teamState : this.teamStates.values()) {
+            this.startTeamGenerator(teamState);
+        }
+
+        for (int i = 0; i < this.teamCount; i++) {
+            this.startSharedGenerator(ItemGeneratorPool.DIAMOND);
+            if (i % 2 == 0) {
+                this.startSharedGenerator(ItemGeneratorPool.EMERALD);
+            }
+        }
+
+        this.scheduler.scheduleRepeating(0, 20, TickPhase.SCOREBOARD, () -> {
+            BwScoreboard.writeContent(this.time, this.teamStates.values(), line -> this.scoreboardLines++);
+        });
+
+        this.scheduler.scheduleRepeating(20, 20, TickPhase.MAP_LOGIC, this::tickBeds);
+        this.scheduler.scheduleRepeating(20, 20, TickPhase.PLAYER_LOGIC, this::tickShopping);
+
+        this.scheduler.schedule(BwActive.BED_GONE_TICKS, TickPhase.MAP_LOGIC, () -> {
+            for (BwActive.TeamState teamState : this.teamStates.values()) {
+                teamState.hasBed = false;
+            }
+        });
+    }
+
+    private void startTeamGenerator(BwActive.TeamState teamState) {
+        BwItemGenerator generator = new BwItemGenerator(BlockBounds.of(BlockPos.ORIGIN))
+                .setPool(ItemGeneratorPool.TEAM_LVL_1)
+                .ownedBy(teamState.team);
+
+        generator.startDetached(this.scheduler, this.economy, this.random, stack -> {
+            this.tickPhase(TickPhase.ITEM_GENERATORS, () -> this.collect(this.teamPlayers.get(teamState.team), stack));
+        });
+
+        // teams buy their generator upgrades at fixed times
+        this.scheduler.schedule(FIRST_UPGRADE_TICKS, () -> generator.setPool(ItemGeneratorPool.TEAM_LVL_2));
+        this.scheduler.schedule(SECOND_UPGRADE_TICKS, () -> generator.setPool(ItemGeneratorPool.TEAM_LVL_3));
+    }
+
+    private void startSharedGenerator(ItemGeneratorPool pool) {
+        BwItemGenerator generator = new BwItemGenerator(BlockBounds.of(BlockPos.ORIGIN)).setPool(pool);
+
+        generator.startDetached(this.scheduler, this.economy, this.random, stack -> {
+            this.tickPhase(TickPhase.ITEM_GENERATORS, () -> this.collect(this.players, stack));
+        });
+    }
+
+    private void collect(List<SimulatedPlayer> candidates, ItemStack stack) {
+        SimulatedPlayer collector = this.randomActivePlayer(candidates);
+        if (collector != null) {
+            this.economy.record(collector.participant.team, stack.getItem(), ResourceFlow.COLLECTED, stack.getCount());
+            collector.inventory.addStack(stack);
+        }
+    }
+
+    private void tickFights() {
+        int alive = 0;
+        for (BwActive.TeamState teamState : this.teamStates.values()) {
+            alive += teamState.getAliveCount();
+        }
+
+        // sample the number of fights this tick from the per-player chance
+        double expected = alive * FIGHT_CHANCE;
+        int fights = (int) expected;
+        if (this.random.nextDouble() < expected - fights) {
+            fights++;
+        }
+
+        for (int i = 0; i < fights && this.winResult == null; i++) {
+            SimulatedPlayer attacker = this.randomActivePlayer(this.players);
+            SimulatedPlayer defender = attacker != null ? this.randomOpponent(attacker) : null;
+            if (defender == null) {
+                return;
+            }
+
+            if (this.random.nextBoolean()) {
+                this.kill(attacker, defender);
+            } else {
+                this.kill(defender, attacker);
+            }
+        }
+    }
+
+    private void kill(SimulatedPlayer killer, SimulatedPlayer victim) {
+        this.kills++;
+        killer.kills++;
+        victim.deaths++;
+
+        Collection<ItemStack> resources = BwKillLogic.resolveDeath(this.economy, false, victim.participant, victim.inventory, killer.participant);
+        for (ItemStack resource : resources) {
+            killer.inventory.addStack(resource);
+        }
+
+        if (victim.teamState.hasBed) {
+            victim.respawning = true;
+            this.scheduler.schedule(BwActive.RESPAWN_TICKS, TickPhase.PLAYER_LOGIC, () -> victim.respawning = false);
+        } else {
+            this.finalKills++;
+            BwKillLogic.resolveFinalDeath(this.winStateLogic, victim.participant);
+        }
+    }
+
+    @Override
+    public int getTeamCount() {
+        return this.teamStates.size();
+    }
+
+    @Override
+    public Collection<BwActive.TeamState> teams() {
+        return this.teamStates.values();
+    }
+
+    @Override
+    @Nullable
+    public BwActive.TeamState getTeam(GameTeam team) {
+        return this.teamStates.get(team);
+    }
+
+    @Override
+    public void onTeamEliminated(BwActive.TeamState teamState) {
+        BwWinStateLogic.WinResult winResult = this.winStateLogic.checkWinResult();
+        if (winResult != null && this.winResult == null) {
+            this.winResult = winResult;
+            this.scheduler.cancelAll();
+        }
+    }
+
+    private void tickBeds() {
+        for (BwActive.TeamState teamState : this.teamStates.values()) {
+            if (teamState.hasBed && this.random.nextDouble() < BED_BREAK_CHANCE) {
+                teamState.hasBed = false;
+                this.bedsBroken++;
+            }
+        }
+    }
+
+    private void tickShopping() {
+        List<SimulatedPlayer> players = this.players;
+        for (int i = 0; i < players.size(); i++) {
+            SimulatedPlayer player = players.get(i);
+            if (player.isActive() && !this.tryBuyUpgrade(player) && BLOCK_PRICE.takeFrom(player.inventory)) {
+                this.economy.recordSpent(player.participant.team, BLOCK_PRICE);
+            }
+        }
+    }
+
+    private boolean tryBuyUpgrade(SimulatedPlayer player) {
+        BwParticipant participant = player.participant;
+        for (UpgradeType<?> type : UPGRADE_ORDER) {
+            int level = participant.upgrades.getLevel(type) + 1;
+            Upgrade upgrade = type.forLevel(level);
+            if (upgrade != null && upgrade.getPrice().takeFrom(player.inventory)) {
+                BwItemShop.applyUpgrade(this.economy, participant, type, level);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private SimulatedPlayer randomActivePlayer(List<SimulatedPlayer> candidates) {
+        int size = candidates.size();
+        if (size == 0) {
+            return null;
+        }
+
+        // a few random probes are enough; fall back to a scan once most players are out
+        for (int attempt = 0; attempt < 8; attempt++) {
+            SimulatedPlayer player = candidates.get(this.random.nextInt(size));
+            if (player.isActive()) {
+                return player;
+            }
+        }
+
+        int offset = this.random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            SimulatedPlayer player = candidates.get((offset + i) % size);
+            if (player.isActive()) {
+                return player;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private SimulatedPlayer randomOpponent(SimulatedPlayer player) {
+        int offset = this.random.nextInt(this.teams.size());
+        for (int i = 0; i < this.teams.size(); i++) {
+            GameTeam team = this.teams.get((offset + i) % this.teams.size());
+            if (team == player.participant.team) {
+                continue;
+            }
+
+            SimulatedPlayer opponent = this.randomActivePlayer(this.teamPlayers.get(team));
+            if (opponent != null) {
+                return opponent;
+            }
+        }
+
+        return null;
+    }
+
+    private long total(ResourceFlow flow) {
+        long total = 0;
+        for (BwResource resource : BwResource.VALUES) {
+            total += this.economy.getTotal(null, resource, flow);
+            for (GameTeam team : this.teams) {
+                total += this.economy.getTotal(team, resource, flow);
+            }
+        }
+        return total;
+    }
+
+    private void tickPhase(TickPhase phase, Runnable action) {
+        long bytes = getAllocatedBytes();
+        long start = this.profiler.begin();
+
+        action.run();
+
+        this.profiler.end(phase, start);
+        this.allocatedBytes[phase.ordinal()] += getAllocatedBytes() - bytes;
+    }
+
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) {
+        int teams = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int playersPerTeam = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : BenchmarkSupport.SEED;
+        long maxTicks = args.length > 3 ? Long.parseLong(args[3]) : 20 * 60 * 60;
+
+        Result result = new MatchSimulator(teams, playersPerTeam, seed, maxTicks).run();
+        for (String line : result.report()) {
+            System.out.println(line);
+        }
+    }
+
+    static final class SimulatedPlayer {
+        final BwParticipant participant;
+        final BwActive.TeamState teamState;
+        final SimpleInventory inventory = new SimpleInventory(INVENTORY_SIZE);
+
+        boolean respawning;
+        int kills;
+        int deaths;
+
+        SimulatedPlayer(BwParticipant participant, BwActive.TeamState teamState) {
+            this.participant = participant;
+            this.teamState = teamState;
+        }
+
+        boolean isActive() {
+            return !this.participant.eliminated && !this.respawning;
+        }
+    }
+
+    public static final class Result {
+        public final long ticks;
+        @Nullable
+        public final GameTeam winner;
+        public final boolean finished;
+        public final int kills;
+        public final int finalKills;
+        public final int bedsBroken;
+        public final long produced;
+        public final long collected;
+        public final long transferred;
+        public final long spent;
+
+        private final List<String> phaseReport;
+        private final long[] allocatedBytes;
+        private final boolean allocationsSupported;
+        private final String setup;
+
+        Result(MatchSimulator simulator) {
+            this.ticks = simulator.time;
+            this.winner = simulator.winResult != null ? simulator.winResult.getTeam() : null;
+            this.finished = simulator.winResult != null;
+            this.kills = simulator.kills;
+            this.finalKills = simulator.finalKills;
+            this.bedsBroken = simulator.bedsBroken;
+            this.produced = simulator.total(ResourceFlow.PRODUCED);
+            this.collected = simulator.total(ResourceFlow.COLLECTED);
+            this.transferred = simulator.total(ResourceFlow.STOLEN);
+            this.spent = simulator.total(ResourceFlow.SPENT);
+            this.phaseReport = simulator.profiler.report(false);
+            this.allocatedBytes = simulator.allocatedBytes.clone();
+            this.allocationsSupported = simulator.allocationsSupported;
+            this.setup = simulator.teamCount + " teams x " + simulator.playersPerTeam + " players";
+        }
+
+        public List<String> report() {
+            List<String> lines = new ArrayList<>();
+
+            long seconds = (this.ticks / 20) % 60;
+            long minutes = this.ticks / (20 * 60);
+
+            String outcome;
+            if (!this.finished) {
+                outcome = "no result";
+            } else if (this.winner != null) {
+                outcome = this.winner.getDisplay() + " won";
+            } else {
+                outcome = "draw";
+            }
+
+            lines.add(String.format("%s: %s after %02d:%02d (%d ticks)", this.setup, outcome, minutes, seconds, this.ticks));
+            lines.add(String.format("kills: %d (%d final), beds broken: %d", this.kills, this.finalKills, this.bedsBroken));
+            lines.add(String.format("resources: %d produced, %d collected, %d transferred on kill, %d spent", this.produced, this.collected, this.transferred, this.spent));
+
+            lines.add("");
+            lines.addAll(this.phaseReport);
+
+            if (this.allocationsSupported) {
+                lines.add("");
+                lines.add(String.format("%-24s %12s %12s", "phase", "allocated", "per tick"));
+                for (TickPhase phase : TickPhase.values()) {
+                    long bytes = this.allocatedBytes[phase.ordinal()];
+                    lines.add(String.format("%-24s %10dKB %11dB", phase.getName(), bytes / 1024, this.ticks > 0 ? bytes / this.ticks : 0));
+                }
+            }
+
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package xyz.nucleoid.bedwars.game.generator.island;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+import xyz.nucleoid.bedwars.benchmark.BenchmarkSupport;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoiseIslandBenchmark {
+    @Param({ "center", "diamond", "small" })
+    public String island;
+
+    private NoiseIslandGenerator generator;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+
+        NoiseIslandConfig config;
+        switch (this.island) {
+            case "center":
+                config = new NoiseIslandConfig(20, 0.75, 90.0, -3.4, 0.0833, 0.0625, false, 240, 120);
+                break;
+            case "diamond":
+                config = new NoiseIslandConfig(10, 1.0, 40.0, -4.25, 0.125, 0.0833, false, -1, -1);
+                break;
+            default:
+                config = new NoiseIslandConfig(6, 0.5, 15.0, -2.0, 0.1666, 0.125, true, 120, 80);
+                break;
+        }
+
+        this.generator = config.createGenerator(new BlockPos(0, 72, 0), BenchmarkSupport.SEED);
+    }
+
+    @Benchmark
+    public NoiseIslandGenerator.Raster rasterize() {
+        return this.generator.rasterize();
+    }
+}
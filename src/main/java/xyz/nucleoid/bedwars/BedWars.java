@@ -2,8 +2,11 @@ package xyz.nucleoid.bedwars;
 
 import com.google.common.reflect.Reflection;
 import net.fabricmc.api.ModInitializer;
+import xyz.nucleoid.bedwars.command.BwCommand;
 import xyz.nucleoid.bedwars.custom.BwItems;
 import xyz.nucleoid.bedwars.game.BwConfig;
+import xyz.nucleoid.bedwars.game.BwMapPool;
+import xyz.nucleoid.bedwars.game.BwTemplateCache;
 import xyz.nucleoid.bedwars.game.BwWaiting;
 import xyz.nucleoid.bedwars.game.active.modifiers.BwGameModifiers;
 import xyz.nucleoid.bedwars.game.active.modifiers.BwGameTriggers;
@@ -34,5 +37,9 @@ public final class BedWars implements ModInitializer {
         BwGameTriggers.register();
         BwGameModifiers.register();
         MapThemes.register();
+
+        BwCommand.register();
+        BwTemplateCache.register();
+        BwMapPool.register();
     }
 }
@@ -0,0 +1,113 @@
+package xyz.nucleoid.bedwars.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.bedwars.game.BwMapPool;
+import xyz.nucleoid.bedwars.game.active.profiler.BwTickProfiler;
+import xyz.nucleoid.plasmid.game.ManagedGameSpace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+public final class BwCommand {
+    private static final SimpleCommandExceptionType NOT_IN_GAME = new SimpleCommandExceptionType(
+            new LiteralText("You are not in an active BedWars game!")
+    );
+
+    private static final SimpleCommandExceptionType DUMP_FAILED = new SimpleCommandExceptionType(
+            new LiteralText("Failed to write tick profile, check the server log for details")
+    );
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+                literal("bedwars").requires(source -> source.hasPermissionLevel(2))
+                        .then(literal("profile")
+                                .executes(BwCommand::reportProfile)
+                                .then(literal("generators").executes(BwCommand::reportGeneratorProfile))
+                                .then(literal("dump").executes(BwCommand::dumpProfile))
+                                .then(literal("reset").executes(BwCommand::resetProfile))
+                        )
+                        .then(literal("map_pool").executes(BwCommand::reportMapPool))
+        );
+    }
+
+    private static int reportProfile(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        return report(context.getSource(), false);
+    }
+
+    private static int reportGeneratorProfile(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        return report(context.getSource(), true);
+    }
+
+    private static int report(ServerCommandSource source, boolean includeGenerators) throws CommandSyntaxException {
+        BwTickProfiler profiler = getProfiler(source);
+
+        source.sendFeedback(new LiteralText("BedWars tick profile (ms, last " + BwTickProfiler.WINDOW + " ticks):").formatted(Formatting.GOLD), false);
+        for (String line : profiler.report(includeGenerators)) {
+            source.sendFeedback(new LiteralText(line).formatted(Formatting.GRAY), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int dumpProfile(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        BwTickProfiler profiler = getProfiler(source);
+
+        try {
+            Path path = profiler.dump();
+            source.sendFeedback(new LiteralText("Wrote tick profile to " + path), false);
+        } catch (IOException e) {
+            BedWars.LOGGER.error("Failed to write tick profile", e);
+            throw DUMP_FAILED.create();
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int resetProfile(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        getProfiler(source).reset();
+
+        source.sendFeedback(new LiteralText("Reset tick profile"), false);
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int reportMapPool(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        for (String line : BwMapPool.report()) {
+            source.sendFeedback(new LiteralText(line).formatted(Formatting.GRAY), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static BwTickProfiler getProfiler(ServerCommandSource source) throws CommandSyntaxException {
+        ManagedGameSpace gameSpace = ManagedGameSpace.forWorld(source.getWorld());
+        if (gameSpace == null) {
+            throw NOT_IN_GAME.create();
+        }
+
+        BwTickProfiler profiler = BwTickProfiler.forGameSpace(gameSpace);
+        if (profiler == null) {
+            throw NOT_IN_GAME.create();
+        }
+
+        return profiler;
+    }
+}
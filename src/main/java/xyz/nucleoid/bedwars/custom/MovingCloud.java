@@ -6,6 +6,7 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
+import xyz.nucleoid.bedwars.game.active.BwTickGovernor;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 
 import java.util.Random;
@@ -35,12 +36,16 @@ public final class MovingCloud {
         );
     }
 
-    public boolean tick() {
+    /**
+     * @param governor decides whether the cosmetic particle trail is spawned this tick
+     * @return whether this cloud has finished and should be removed
+     */
+    public boolean tick(BwTickGovernor governor) {
         if (this.lastBlockPos == null) {
             this.updatePlatform(new BlockPos(this.pos));
         }
 
-        if (this.ticks++ % 2 == 0) {
+        if (this.ticks++ % 2 == 0 && governor.allowCosmetic(BwTickGovernor.Cosmetic.PARTICLES)) {
             this.spawnParticles();
         }
 
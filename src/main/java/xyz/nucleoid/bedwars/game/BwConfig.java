@@ -24,7 +24,8 @@ public final class BwConfig {
                 GameModifier.CODEC.listOf().optionalFieldOf("modifiers", Collections.emptyList()).forGetter(config -> config.modifiers),
                 GameTeam.CODEC.listOf().fieldOf("teams").forGetter(config -> config.teams),
                 PlayerConfig.CODEC.fieldOf("players").forGetter(config -> config.players),
-                Codec.BOOL.optionalFieldOf("keep_inventory", false).forGetter(config -> config.keepInventory)
+                Codec.BOOL.optionalFieldOf("keep_inventory", false).forGetter(config -> config.keepInventory),
+                BwTickBudgetConfig.CODEC.optionalFieldOf("tick_budget", BwTickBudgetConfig.DEFAULT).forGetter(config -> config.tickBudget)
         ).apply(instance, BwConfig::new);
     });
 
@@ -35,6 +36,7 @@ public final class BwConfig {
     public final List<GameTeam> teams;
     public final PlayerConfig players;
     public final boolean keepInventory;
+    public final BwTickBudgetConfig tickBudget;
 
     public BwConfig(
             Identifier dimension,
@@ -43,7 +45,8 @@ public final class BwConfig {
             List<GameModifier> modifiers,
             List<GameTeam> teams,
             PlayerConfig players,
-            boolean keepInventory
+            boolean keepInventory,
+            BwTickBudgetConfig tickBudget
     ) {
         this.dimension = dimension;
         this.map = map;
@@ -52,6 +55,7 @@ public final class BwConfig {
         this.teams = teams;
         this.players = players;
         this.keepInventory = keepInventory;
+        this.tickBudget = tickBudget;
     }
 
     @Nullable
@@ -1,7 +1,5 @@
 package xyz.nucleoid.bedwars.game;
 
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.SpawnReason;
 import net.minecraft.entity.mob.MobEntity;
@@ -38,21 +36,30 @@ public final class BwMap {
     private final Map<GameTeam, TeamRegions> teamRegions = new HashMap<>();
 
     private final Collection<BwItemGenerator> itemGenerators = new ArrayList<>();
+    private final List<BlockBounds> diamondSpawns = new ArrayList<>();
+    private final List<BlockBounds> emeraldSpawns = new ArrayList<>();
 
     private final List<BlockBounds> illegalBounds = new ArrayList<>();
 
+    private final RegionIndex<BlockBounds> illegalRegions = new RegionIndex<>();
+    private final RegionIndex<GameTeam> bedRegions = new RegionIndex<>();
+    private final RegionIndex<GameTeam> chestRegions = new RegionIndex<>();
+    private final RegionIndex<GameTeam> baseRegions = new RegionIndex<>();
+
     private BlockPos centerSpawn = BlockPos.ORIGIN;
 
-    private final LongSet protectedBlocks = new LongOpenHashSet();
+    private ProtectedBlockIndex protectedBlocks = new ProtectedBlockIndex();
 
     public void setChunkGenerator(ChunkGenerator chunkGenerator) {
         this.chunkGenerator = chunkGenerator;
     }
 
     public void addDiamondGenerator(BlockBounds bounds) {
+        this.diamondSpawns.add(bounds);
         this.itemGenerators.add(new BwItemGenerator(bounds)
                 .setPool(ItemGeneratorPool.DIAMOND)
                 .maxItems(6)
+                .virtual()
                 .addTimerText()
         );
 
@@ -60,9 +67,11 @@ public final class BwMap {
     }
 
     public void addEmeraldGenerator(BlockBounds bounds) {
+        this.emeraldSpawns.add(bounds);
         this.itemGenerators.add(new BwItemGenerator(bounds)
                 .setPool(ItemGeneratorPool.EMERALD)
                 .maxItems(3)
+                .virtual()
                 .addTimerText()
         );
 
@@ -72,8 +81,18 @@ public final class BwMap {
     public void addTeamRegions(GameTeam team, TeamRegions regions) {
         this.teamRegions.put(team, regions);
 
+        if (regions.bed != null) {
+            this.bedRegions.add(regions.bed, team);
+        }
+        if (regions.teamChest != null) {
+            this.chestRegions.add(regions.teamChest, team);
+        }
+        if (regions.base != null) {
+            this.baseRegions.add(regions.base, team);
+        }
+
         if (regions.spawn != null) {
-            TeamSpawn teamSpawn = new TeamSpawn(regions.spawn);
+            TeamSpawn teamSpawn = new TeamSpawn(team, regions.spawn);
             this.teamSpawns.put(team, teamSpawn);
             this.itemGenerators.add(teamSpawn.generator);
         } else {
@@ -85,18 +104,28 @@ public final class BwMap {
         this.centerSpawn = pos;
     }
 
+    /**
+     * Replaces all protected blocks with the given index, such as one loaded from a {@link BwMapIndex}.
+     */
+    public void setProtectedBlocks(ProtectedBlockIndex protectedBlocks) {
+        this.protectedBlocks = protectedBlocks;
+    }
+
     public void addProtectedBlock(long pos) {
+        this.protectedBlocks.add(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos));
+    }
+
+    public void addProtectedBlock(BlockPos pos) {
         this.protectedBlocks.add(pos);
     }
 
     public void addProtectedBlocks(BlockBounds bounds) {
-        for (BlockPos pos : bounds) {
-            this.protectedBlocks.add(pos.asLong());
-        }
+        this.protectedBlocks.addBox(bounds.getMin(), bounds.getMax());
     }
 
     public void addIllegalRegion(BlockBounds bounds) {
         this.illegalBounds.add(bounds);
+        this.illegalRegions.add(bounds, bounds);
     }
 
     public void spawnShopkeepers(ServerWorld world, BwActive game, BwConfig config) {
@@ -157,16 +186,56 @@ public final class BwMap {
     }
 
     public boolean isProtectedBlock(BlockPos pos) {
-        return this.protectedBlocks.contains(pos.asLong());
+        return this.protectedBlocks.contains(pos);
+    }
+
+    /**
+     * Removes all protected positions from the given block list, such as the blocks affected by an explosion.
+     */
+    public void removeProtectedBlocks(List<BlockPos> blocks) {
+        this.protectedBlocks.removeProtected(blocks);
+    }
+
+    public ProtectedBlockIndex getProtectedBlocks() {
+        return this.protectedBlocks;
+    }
+
+    public List<BlockBounds> getDiamondSpawns() {
+        return this.diamondSpawns;
+    }
+
+    public List<BlockBounds> getEmeraldSpawns() {
+        return this.emeraldSpawns;
+    }
+
+    public List<BlockBounds> getIllegalRegions() {
+        return this.illegalBounds;
     }
 
     public boolean isLegalAt(BlockPos pos) {
-        for (BlockBounds bounds : this.illegalBounds) {
-            if (bounds.contains(pos)) {
-                return false;
-            }
-        }
-        return true;
+        return !this.illegalRegions.contains(pos);
+    }
+
+    @Nullable
+    public GameTeam getBedTeamAt(BlockPos pos) {
+        return this.bedRegions.find(pos);
+    }
+
+    @Nullable
+    public GameTeam getChestTeamAt(BlockPos pos) {
+        return this.chestRegions.find(pos);
+    }
+
+    @Nullable
+    public GameTeam getBaseTeamAt(BlockPos pos) {
+        return this.baseRegions.find(pos);
+    }
+
+    /**
+     * @return whether the given column lies within any team's base, at any height
+     */
+    public boolean isBaseColumn(int x, int z) {
+        return this.baseRegions.findColumn(x, z) != null;
     }
 
     public BlockPos getCenterSpawn() {
@@ -185,12 +254,14 @@ public final class BwMap {
 
         private int level = 1;
 
-        TeamSpawn(BlockBounds region) {
+        TeamSpawn(GameTeam team, BlockBounds region) {
             this.region = region;
             this.generator = new BwItemGenerator(region)
                     .setPool(poolForLevel(this.level))
+                    .ownedBy(team)
                     .maxItems(64)
-                    .allowDuplication();
+                    .allowDuplication()
+                    .mergeItems();
         }
 
         public void placePlayer(ServerPlayerEntity player, ServerWorld world) {
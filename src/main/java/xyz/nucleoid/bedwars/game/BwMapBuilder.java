@@ -2,6 +2,7 @@ package xyz.nucleoid.bedwars.game;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.Heightmap;
 import xyz.nucleoid.bedwars.BedWars;
@@ -9,11 +10,13 @@ import xyz.nucleoid.bedwars.game.generator.BwSkyMapBuilder;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.map.template.MapTemplateMetadata;
-import xyz.nucleoid.plasmid.map.template.MapTemplateSerializer;
 import xyz.nucleoid.plasmid.map.template.TemplateChunkGenerator;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalLong;
 
 public final class BwMapBuilder {
     private final BwConfig config;
@@ -22,26 +25,65 @@ public final class BwMapBuilder {
         this.config = config;
     }
 
+    /**
+     * Creates the map for this config. Sky maps are taken from the {@link BwMapPool} where one is ready.
+     */
     public BwMap create(MinecraftServer server) {
+        return this.config.map.map(
+                skyConfig -> BwMapPool.take(this, this.config, skyConfig, server),
+                path -> this.build(server)
+        );
+    }
+
+    BwMap build(MinecraftServer server) {
         return this.config.map.map(
                 skyConfig -> new BwSkyMapBuilder(this.config, skyConfig).build(server),
                 path -> {
                     MapTemplate template;
+                    OptionalLong sourceHash;
                     try {
-                        template = MapTemplateSerializer.INSTANCE.loadFromResource(path);
+                        BwTemplateCache.Entry entry = BwTemplateCache.get(server, path);
+                        template = entry.template;
+                        sourceHash = OptionalLong.of(entry.sourceHash);
                     } catch (IOException e) {
                         template = MapTemplate.createEmpty();
+                        sourceHash = OptionalLong.empty();
                         BedWars.LOGGER.error("Failed to find map template at {}", path, e);
                     }
 
-                    return this.buildFromTemplate(server, template);
+                    return this.buildFromTemplate(server, path, template, sourceHash);
                 }
         );
     }
 
-    private BwMap buildFromTemplate(MinecraftServer server, MapTemplate template) {
+    private BwMap buildFromTemplate(MinecraftServer server, Identifier path, MapTemplate template, OptionalLong sourceHash) {
         BwMap map = new BwMap();
+        List<GameTeam> teams = this.config.teams;
+
+        OptionalLong fingerprint = sourceHash.isPresent() ? OptionalLong.of(BwMapIndex.fingerprint(sourceHash.getAsLong(), teams)) : OptionalLong.empty();
+        Path indexPath = BwMapIndex.pathFor(path);
+
+        BwMapIndex index = fingerprint.isPresent() ? BwMapIndex.read(indexPath, fingerprint.getAsLong(), teams.size()) : null;
+        if (index != null) {
+            index.applyTo(map, teams);
+        } else {
+            this.scanTemplate(map, template);
+
+            if (fingerprint.isPresent()) {
+                try {
+                    BwMapIndex.capture(map, teams).write(indexPath, fingerprint.getAsLong());
+                } catch (IOException e) {
+                    BedWars.LOGGER.warn("Failed to write map index for {}", path, e);
+                }
+            }
+        }
+
+        map.setChunkGenerator(new TemplateChunkGenerator(server, template));
+
+        return map;
+    }
 
+    private void scanTemplate(BwMap map, MapTemplate template) {
         MapTemplateMetadata metadata = template.getMetadata();
         metadata.getRegionBounds("diamond_spawn").forEach(map::addDiamondGenerator);
         metadata.getRegionBounds("emerald_spawn").forEach(map::addEmeraldGenerator);
@@ -54,7 +96,7 @@ public final class BwMapBuilder {
         for (BlockPos pos : template.getBounds()) {
             BlockState state = template.getBlockState(pos);
             if (!state.isAir()) {
-                map.addProtectedBlock(pos.asLong());
+                map.addProtectedBlock(pos);
             }
         }
 
@@ -69,9 +111,5 @@ public final class BwMapBuilder {
         centerSpawn = template.getTopPos(centerSpawn.getX(), centerSpawn.getZ(), Heightmap.Type.WORLD_SURFACE).up();
 
         map.setCenterSpawn(centerSpawn);
-
-        map.setChunkGenerator(new TemplateChunkGenerator(server, template));
-
-        return map;
     }
 }
@@ -0,0 +1,295 @@
+package xyz.nucleoid.bedwars.game;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The resolved regions and protected blocks of a {@link BwMap}, stored in a compact binary sidecar file so that
+ * opening a game does not need to scan the map template block by block or look regions up by key again.
+ * <p>
+ * Each sidecar starts with a fingerprint of the data it was built from. A sidecar whose fingerprint does not match is
+ * stale and is ignored, and the map is rebuilt and its sidecar rewritten.
+ */
+public final class BwMapIndex {
+    private static final int MAGIC = 0x42574958;
+    private static final int VERSION = 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final List<BlockBounds> diamondSpawns;
+    private final List<BlockBounds> emeraldSpawns;
+    private final List<BlockBounds> illegalRegions;
+    private final List<BwMap.TeamRegions> teamRegions;
+    private final ProtectedBlockIndex protectedBlocks;
+    private final BlockPos centerSpawn;
+
+    private BwMapIndex(
+            List<BlockBounds> diamondSpawns, List<BlockBounds> emeraldSpawns, List<BlockBounds> illegalRegions,
+            List<BwMap.TeamRegions> teamRegions, ProtectedBlockIndex protectedBlocks, BlockPos centerSpawn
+    ) {
+        this.diamondSpawns = diamondSpawns;
+        this.emeraldSpawns = emeraldSpawns;
+        this.illegalRegions = illegalRegions;
+        this.teamRegions = teamRegions;
+        this.protectedBlocks = protectedBlocks;
+        this.centerSpawn = centerSpawn;
+    }
+
+    /**
+     * Captures the regions of the given map, with team regions in the order of the given teams.
+     */
+    public static BwMapIndex capture(BwMap map, List<GameTeam> teams) {
+        List<BwMap.TeamRegions> teamRegions = new ArrayList<>(teams.size());
+        for (GameTeam team : teams) {
+            teamRegions.add(map.getTeamRegions(team));
+        }
+
+        return new BwMapIndex(
+                map.getDiamondSpawns(), map.getEmeraldSpawns(), map.getIllegalRegions(),
+                teamRegions, map.getProtectedBlocks(), map.getCenterSpawn()
+        );
+    }
+
+    /**
+     * Adds everything in this index to the given map. The protected blocks are set before any generators are added,
+     * as generators protect their own bounds.
+     */
+    public void applyTo(BwMap map, List<GameTeam> teams) {
+        map.setProtectedBlocks(this.protectedBlocks);
+
+        this.diamondSpawns.forEach(map::addDiamondGenerator);
+        this.emeraldSpawns.forEach(map::addEmeraldGenerator);
+
+        for (int i = 0; i < teams.size(); i++) {
+            map.addTeamRegions(teams.get(i), this.teamRegions.get(i));
+        }
+
+        this.illegalRegions.forEach(map::addIllegalRegion);
+        map.setCenterSpawn(this.centerSpawn);
+    }
+
+    public static Path pathFor(Identifier id) {
+        return FabricLoader.getInstance().getGameDir()
+                .resolve("bedwars").resolve("map_index")
+                .resolve(id.getNamespace()).resolve(id.getPath() + ".bwidx");
+    }
+
+    /**
+     * Hashes the source data an index is built from. This only needs to be computed again when the source changes, and
+     * is then combined with the teams through {@link #fingerprint(long, List)}.
+     */
+    public static long hashSource(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return ((long) source.length << 32) ^ crc.getValue();
+    }
+
+    /**
+     * Computes a fingerprint of the hashed source data, together with the teams that regions were resolved for. Each
+     * team key is preceded by its length, so that different team lists never hash the same bytes.
+     */
+    public static long fingerprint(long sourceHash, List<GameTeam> teams) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(sourceHash);
+            output.writeInt(teams.size());
+            for (GameTeam team : teams) {
+                byte[] key = team.getKey().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(key.length);
+                output.write(key);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+
+        // keep the source length in the upper half, as it tells most changed sources apart without a collision
+        return (sourceHash & 0xFFFFFFFF00000000L) ^ crc.getValue();
+    }
+
+    /**
+     * Loads the sidecar at the given path by memory-mapping it.
+     *
+     * @return the loaded index, or null if there is no sidecar or it is stale or unreadable
+     */
+    @Nullable
+    public static BwMapIndex read(Path path, long fingerprint, int teamCount) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != fingerprint) {
+                return null;
+            }
+
+            List<BlockBounds> diamondSpawns = readBoundsList(buffer);
+            List<BlockBounds> emeraldSpawns = readBoundsList(buffer);
+            List<BlockBounds> illegalRegions = readBoundsList(buffer);
+
+            if (buffer.getInt() != teamCount) {
+                return null;
+            }
+
+            List<BwMap.TeamRegions> teamRegions = new ArrayList<>(teamCount);
+            for (int i = 0; i < teamCount; i++) {
+                teamRegions.add(readTeamRegions(buffer));
+            }
+
+            BlockPos centerSpawn = readPos(buffer);
+            ProtectedBlockIndex protectedBlocks = ProtectedBlockIndex.read(buffer);
+
+            return new BwMapIndex(diamondSpawns, emeraldSpawns, illegalRegions, teamRegions, protectedBlocks, centerSpawn);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            BedWars.LOGGER.warn("Failed to read map index at {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes this index to the given path, see {@link #writeAtomically}.
+     */
+    public void write(Path path, long fingerprint) throws IOException {
+        writeAtomically(path, stream -> {
+            DataOutputStream output = new DataOutputStream(stream);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(fingerprint);
+
+            writeBoundsList(output, this.diamondSpawns);
+            writeBoundsList(output, this.emeraldSpawns);
+            writeBoundsList(output, this.illegalRegions);
+
+            output.writeInt(this.teamRegions.size());
+            for (BwMap.TeamRegions regions : this.teamRegions) {
+                writeTeamRegions(output, regions);
+            }
+
+            writePos(output, this.centerSpawn);
+            this.protectedBlocks.write(output);
+            output.flush();
+        });
+    }
+
+    /**
+     * Writes a file through a temporary file of its own in the same directory, which then atomically replaces the
+     * target. A partly written file is never read, and concurrent writers of the same file never share a temporary
+     * file.
+     */
+    public static void writeAtomically(Path path, StreamWriter writer) throws IOException {
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+
+        Path tempPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+                writer.write(output);
+            }
+
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private static void writeTeamRegions(DataOutputStream output, BwMap.TeamRegions regions) throws IOException {
+        writeBounds(output, regions.spawn);
+        writeBounds(output, regions.bed);
+        writeBounds(output, regions.base);
+        writeBounds(output, regions.teamChest);
+        writeBounds(output, regions.itemShop);
+        writeBounds(output, regions.teamShop);
+        output.writeByte(regions.itemShopDirection.ordinal());
+        output.writeByte(regions.teamShopDirection.ordinal());
+    }
+
+    private static BwMap.TeamRegions readTeamRegions(ByteBuffer buffer) {
+        BlockBounds spawn = readBounds(buffer);
+        BlockBounds bed = readBounds(buffer);
+        BlockBounds base = readBounds(buffer);
+        BlockBounds teamChest = readBounds(buffer);
+        BlockBounds itemShop = readBounds(buffer);
+        BlockBounds teamShop = readBounds(buffer);
+        Direction itemShopDirection = DIRECTIONS[buffer.get()];
+        Direction teamShopDirection = DIRECTIONS[buffer.get()];
+
+        return new BwMap.TeamRegions(spawn, bed, base, teamChest, itemShop, teamShop, itemShopDirection, teamShopDirection);
+    }
+
+    private static void writeBoundsList(DataOutputStream output, List<BlockBounds> boundsList) throws IOException {
+        output.writeInt(boundsList.size());
+        for (BlockBounds bounds : boundsList) {
+            writeBounds(output, bounds);
+        }
+    }
+
+    private static List<BlockBounds> readBoundsList(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        List<BlockBounds> boundsList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boundsList.add(readBounds(buffer));
+        }
+        return boundsList;
+    }
+
+    private static void writeBounds(DataOutputStream output, @Nullable BlockBounds bounds) throws IOException {
+        output.writeBoolean(bounds != null);
+        if (bounds != null) {
+            writePos(output, bounds.getMin());
+            writePos(output, bounds.getMax());
+        }
+    }
+
+    @Nullable
+    private static BlockBounds readBounds(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        return new BlockBounds(readPos(buffer), readPos(buffer));
+    }
+
+    private static void writePos(DataOutputStream output, BlockPos pos) throws IOException {
+        output.writeInt(pos.getX());
+        output.writeInt(pos.getY());
+        output.writeInt(pos.getZ());
+    }
+
+    private static BlockPos readPos(ByteBuffer buffer) {
+        return new BlockPos(buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+
+    public interface StreamWriter {
+        void write(OutputStream output) throws IOException;
+    }
+}
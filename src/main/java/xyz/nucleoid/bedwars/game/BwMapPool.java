@@ -0,0 +1,180 @@
+package xyz.nucleoid.bedwars.game;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.bedwars.game.generator.BwSkyMapConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A server-wide pool of ready-built sky maps, so that opening a sky island game can take a finished map rather than
+ * generating one while players wait. Each game config keeps up to {@link BwSkyMapConfig#poolSize} maps, which are
+ * built again on a single low-priority thread after one is taken.
+ * <p>
+ * Pools are keyed by the config instance, as the map depends on both the sky config and the teams, and are dropped
+ * whenever data packs are reloaded.
+ */
+public final class BwMapPool {
+    private static final ExecutorService REFILL_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("BedWars Map Pool Refill")
+                    .setDaemon(true)
+                    .setPriority(Thread.MIN_PRIORITY)
+                    .build()
+    );
+
+    private static final Map<BwConfig, Pool> POOLS = new HashMap<>();
+
+    private static long hits;
+    private static long misses;
+    private static long takeovers;
+    private static long refills;
+    private static long refillNanos;
+    private static long maxRefillNanos;
+
+    private BwMapPool() {
+    }
+
+    public static void register() {
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resources, success) -> clear());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    /**
+     * Takes a ready map for the given config if one is pooled. Otherwise, a refill of the same config that is already
+     * building is taken over and waited for, and only if there is none is a map built on the calling thread. Either
+     * way, the pool is then refilled in the background.
+     */
+    static BwMap take(BwMapBuilder builder, BwConfig config, BwSkyMapConfig skyConfig, MinecraftServer server) {
+        if (skyConfig.poolSize <= 0) {
+            return builder.build(server);
+        }
+
+        BwMap map;
+        Refill refill = null;
+        synchronized (POOLS) {
+            Pool pool = POOLS.computeIfAbsent(config, c -> new Pool(c, skyConfig));
+            map = pool.ready.poll();
+            if (map != null) {
+                hits++;
+            } else {
+                misses++;
+
+                // a claimed refill is no longer added to the pool once it completes
+                Refill building = pool.building.peek();
+                if (building != null && building.started) {
+                    refill = pool.building.poll();
+                    takeovers++;
+                }
+            }
+
+            refill(pool, builder, server);
+        }
+
+        if (map != null) {
+            return map;
+        }
+
+        if (refill != null) {
+            try {
+                return refill.future.join();
+            } catch (CompletionException e) {
+                BedWars.LOGGER.warn("Pooled sky map failed to build, building it again", e.getCause());
+            }
+        }
+
+        return builder.build(server);
+    }
+
+    private static void refill(Pool pool, BwMapBuilder builder, MinecraftServer server) {
+        while (pool.ready.size() + pool.building.size() < pool.size) {
+            Refill refill = new Refill();
+            pool.building.add(refill);
+
+            refill.future = CompletableFuture.supplyAsync(() -> {
+                refill.started = true;
+                return builder.build(server);
+            }, REFILL_EXECUTOR);
+
+            long start = System.nanoTime();
+            refill.future.whenComplete((map, throwable) -> {
+                long nanos = System.nanoTime() - start;
+
+                synchronized (POOLS) {
+                    boolean claimed = !pool.building.remove(refill);
+                    if (throwable != null) {
+                        if (!claimed) {
+                            BedWars.LOGGER.warn("Failed to build pooled sky map", throwable);
+                        }
+                        return;
+                    }
+
+                    refills++;
+                    refillNanos += nanos;
+                    maxRefillNanos = Math.max(maxRefillNanos, nanos);
+
+                    // the pool may have been dropped by a reload while this map was building
+                    if (!claimed && POOLS.get(pool.config) == pool) {
+                        pool.ready.add(map);
+                    }
+                }
+
+                BedWars.LOGGER.debug("Built pooled sky map in {}ms", nanos / 1_000_000);
+            });
+        }
+    }
+
+    public static List<String> report() {
+        List<String> lines = new ObjectArrayList<>();
+
+        synchronized (POOLS) {
+            double averageMillis = refills > 0 ? (double) refillNanos / refills / 1_000_000.0 : 0.0;
+            lines.add(String.format("sky map pool: %d hits, %d misses (%d took over a refill)", hits, misses, takeovers));
+            lines.add(String.format("  refills: %d, avg %.1fms, max %.1fms", refills, averageMillis, maxRefillNanos / 1_000_000.0));
+
+            for (Pool pool : POOLS.values()) {
+                lines.add(String.format("  %s: %d/%d ready, %d building", pool.name, pool.ready.size(), pool.size, pool.building.size()));
+            }
+        }
+
+        return lines;
+    }
+
+    private static void clear() {
+        synchronized (POOLS) {
+            POOLS.clear();
+        }
+    }
+
+    private static final class Pool {
+        final BwConfig config;
+        final String name;
+        final int size;
+
+        final Deque<BwMap> ready = new ArrayDeque<>();
+        // in the order they were submitted, which the single refill thread also builds them in
+        final Deque<Refill> building = new ArrayDeque<>();
+
+        Pool(BwConfig config, BwSkyMapConfig skyConfig) {
+            this.config = config;
+            this.name = skyConfig.theme.getClass().getSimpleName() + " x" + config.teams.size();
+            this.size = skyConfig.poolSize;
+        }
+    }
+
+    private static final class Refill {
+        CompletableFuture<BwMap> future;
+        volatile boolean started;
+    }
+}
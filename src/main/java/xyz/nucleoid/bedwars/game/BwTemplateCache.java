@@ -0,0 +1,146 @@
+package xyz.nucleoid.bedwars.game;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import org.apache.commons.io.IOUtils;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.plasmid.map.template.MapTemplate;
+import xyz.nucleoid.plasmid.map.template.MapTemplateSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A server-wide cache of parsed map templates, so that concurrent games on the same map share one copy of the template
+ * rather than each reading and inflating it again. Templates are loaded on worker threads, and all BedWars templates
+ * are loaded in parallel when the server starts or data packs are reloaded.
+ * <p>
+ * Each template is read from its resource once, and the {@link BwMapIndex#hashSource source hash} that map index
+ * sidecars are checked against is computed from the same bytes, so opening a game does not read the template again.
+ * <p>
+ * Templates returned from this cache are shared between games and must not be modified. The least recently used
+ * template is evicted once more than {@link #MAX_TEMPLATES} are cached.
+ */
+public final class BwTemplateCache {
+    private static final int MAX_TEMPLATES = 8;
+
+    private static final String TEMPLATE_DIRECTORY = "map_templates";
+    private static final String TEMPLATE_EXTENSION = ".nbt";
+
+    private static final Map<Identifier, CompletableFuture<Entry>> TEMPLATES = new LinkedHashMap<Identifier, CompletableFuture<Entry>>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Identifier, CompletableFuture<Entry>> eldest) {
+            return this.size() > MAX_TEMPLATES;
+        }
+    };
+
+    private BwTemplateCache() {
+    }
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(BwTemplateCache::warm);
+
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resources, success) -> {
+            clear();
+            if (success) {
+                warm(server);
+            }
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    public static Entry get(MinecraftServer server, Identifier path) throws IOException {
+        CompletableFuture<Entry> future = getOrLoad(server, path);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // don't keep failures around: the template may be fixed by a reload
+            synchronized (TEMPLATES) {
+                TEMPLATES.remove(path, future);
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to load map template " + path, cause);
+        }
+    }
+
+    private static CompletableFuture<Entry> getOrLoad(MinecraftServer server, Identifier path) {
+        synchronized (TEMPLATES) {
+            return TEMPLATES.computeIfAbsent(path, p -> load(server.getResourceManager(), p));
+        }
+    }
+
+    private static CompletableFuture<Entry> load(ResourceManager resources, Identifier path) {
+        return CompletableFuture.supplyAsync(() -> {
+            Identifier resourcePath = new Identifier(path.getNamespace(), TEMPLATE_DIRECTORY + "/" + path.getPath() + TEMPLATE_EXTENSION);
+            try (Resource resource = resources.getResource(resourcePath)) {
+                byte[] bytes = IOUtils.toByteArray(resource.getInputStream());
+                MapTemplate template = MapTemplateSerializer.INSTANCE.loadFrom(new ByteArrayInputStream(bytes));
+                return new Entry(template, BwMapIndex.hashSource(bytes));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, Util.getMainWorkerExecutor());
+    }
+
+    private static void warm(MinecraftServer server) {
+        long start = System.nanoTime();
+
+        Collection<Identifier> resources = server.getResourceManager().findResources(TEMPLATE_DIRECTORY, path -> path.endsWith(TEMPLATE_EXTENSION));
+
+        List<CompletableFuture<Entry>> futures = new ArrayList<>();
+        for (Identifier resource : resources) {
+            if (!resource.getNamespace().equals(BedWars.ID) || futures.size() >= MAX_TEMPLATES) {
+                continue;
+            }
+
+            String path = resource.getPath();
+            path = path.substring(TEMPLATE_DIRECTORY.length() + 1, path.length() - TEMPLATE_EXTENSION.length());
+            futures.add(getOrLoad(server, new Identifier(resource.getNamespace(), path)));
+        }
+
+        int count = futures.size();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((result, throwable) -> {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (throwable != null) {
+                BedWars.LOGGER.warn("Failed to load some of {} map templates in {}ms", count, millis, throwable);
+            } else {
+                BedWars.LOGGER.info("Loaded {} map templates in {}ms", count, millis);
+            }
+        });
+    }
+
+    private static void clear() {
+        synchronized (TEMPLATES) {
+            TEMPLATES.clear();
+        }
+    }
+
+    public static final class Entry {
+        /**
+         * The shared template, which must not be modified.
+         */
+        public final MapTemplate template;
+        public final long sourceHash;
+
+        Entry(MapTemplate template, long sourceHash) {
+            this.template = template;
+            this.sourceHash = sourceHash;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package xyz.nucleoid.bedwars.game;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Configures when cosmetic work is thinned out. Once the server's average tick time rises above {@code budget_ms},
+ * cosmetic effects are progressively reduced; they are restored step by step once it falls below
+ * {@code recovery_ms}.
+ */
+public final class BwTickBudgetConfig {
+    public static final Codec<BwTickBudgetConfig> CODEC = RecordCodecBuilder.create(instance -> {
+        return instance.group(
+                Codec.BOOL.optionalFieldOf("enabled", true).forGetter(config -> config.enabled),
+                Codec.DOUBLE.optionalFieldOf("budget_ms", 40.0).forGetter(config -> config.budgetMs),
+                Codec.DOUBLE.optionalFieldOf("recovery_ms", 30.0).forGetter(config -> config.recoveryMs)
+        ).apply(instance, BwTickBudgetConfig::new);
+    });
+
+    public static final BwTickBudgetConfig DEFAULT = new BwTickBudgetConfig(true, 40.0, 30.0);
+
+    public final boolean enabled;
+    public final double budgetMs;
+    public final double recoveryMs;
+
+    public BwTickBudgetConfig(boolean enabled, double budgetMs, double recoveryMs) {
+        this.enabled = enabled;
+        this.budgetMs = budgetMs;
+        this.recoveryMs = Math.min(recoveryMs, budgetMs);
+    }
+}
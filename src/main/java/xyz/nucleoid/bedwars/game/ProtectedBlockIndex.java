@@ -0,0 +1,229 @@
+package xyz.nucleoid.bedwars.game;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sparse set of protected block positions, stored as one 4096-bit bitmap per chunk section that contains any
+ * protected block. Sections that are entirely protected share a single full bitmap rather than storing their own.
+ * <p>
+ * Within a section, bit {@code (y << 8) | (z << 4) | x} is set for a protected block, so that each row of 16 blocks
+ * along the x axis occupies 16 bits of one word.
+ */
+public final class ProtectedBlockIndex {
+    private static final int WORDS = 4096 / 64;
+    private static final long[] FULL = new long[WORDS];
+
+    static {
+        Arrays.fill(FULL, -1L);
+    }
+
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+
+    public void add(int x, int y, int z) {
+        long[] bits = this.getOrCreateSection(x >> 4, y >> 4, z >> 4);
+        if (bits == FULL) {
+            return;
+        }
+
+        int index = index(x & 15, y & 15, z & 15);
+        int word = index >> 6;
+        bits[word] |= 1L << index;
+
+        if (bits[word] == -1L) {
+            this.tryMarkFull(x >> 4, y >> 4, z >> 4, bits);
+        }
+    }
+
+    public void add(BlockPos pos) {
+        this.add(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Adds every position in the inclusive box between the given corners, a row of 16 blocks at a time.
+     */
+    public void addBox(BlockPos min, BlockPos max) {
+        int minX = Math.min(min.getX(), max.getX());
+        int minY = Math.min(min.getY(), max.getY());
+        int minZ = Math.min(min.getZ(), max.getZ());
+        int maxX = Math.max(min.getX(), max.getX());
+        int maxY = Math.max(min.getY(), max.getY());
+        int maxZ = Math.max(min.getZ(), max.getZ());
+
+        for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+            for (int sectionZ = minZ >> 4; sectionZ <= maxZ >> 4; sectionZ++) {
+                for (int sectionX = minX >> 4; sectionX <= maxX >> 4; sectionX++) {
+                    int fromX = Math.max(minX, sectionX << 4) & 15;
+                    int fromY = Math.max(minY, sectionY << 4) & 15;
+                    int fromZ = Math.max(minZ, sectionZ << 4) & 15;
+                    int toX = Math.min(maxX, (sectionX << 4) + 15) & 15;
+                    int toY = Math.min(maxY, (sectionY << 4) + 15) & 15;
+                    int toZ = Math.min(maxZ, (sectionZ << 4) + 15) & 15;
+
+                    this.addSectionBox(sectionX, sectionY, sectionZ, fromX, fromY, fromZ, toX, toY, toZ);
+                }
+            }
+        }
+    }
+
+    private void addSectionBox(int sectionX, int sectionY, int sectionZ, int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+
+        boolean coversSection = fromX == 0 && fromY == 0 && fromZ == 0 && toX == 15 && toY == 15 && toZ == 15;
+        if (coversSection) {
+            this.sections.put(key, FULL);
+            return;
+        }
+
+        long[] bits = this.getOrCreateSection(sectionX, sectionY, sectionZ);
+        if (bits == FULL) {
+            return;
+        }
+
+        long rowMask = ((1L << (toX - fromX + 1)) - 1) << fromX;
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                int index = index(0, y, z);
+                bits[index >> 6] |= rowMask << (index & 63);
+            }
+        }
+
+        this.tryMarkFull(sectionX, sectionY, sectionZ, bits);
+    }
+
+    private long[] getOrCreateSection(int sectionX, int sectionY, int sectionZ) {
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        long[] bits = this.sections.get(key);
+        if (bits == null) {
+            bits = new long[WORDS];
+            this.sections.put(key, bits);
+        }
+        return bits;
+    }
+
+    private void tryMarkFull(int sectionX, int sectionY, int sectionZ, long[] bits) {
+        for (long word : bits) {
+            if (word != -1L) {
+                return;
+            }
+        }
+        this.sections.put(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ), FULL);
+    }
+
+    public boolean contains(int x, int y, int z) {
+        long[] bits = this.sections.get(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        return bits != null && test(bits, x, y, z);
+    }
+
+    public boolean contains(BlockPos pos) {
+        return this.contains(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Removes every protected position from the given list in place, keeping the order of the remaining positions.
+     * Consecutive positions in the same section, as produced by an explosion, share a single section lookup.
+     */
+    public void removeProtected(List<BlockPos> positions) {
+        long lastKey = Long.MAX_VALUE;
+        long[] lastBits = null;
+
+        int size = positions.size();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            BlockPos pos = positions.get(read);
+            int x = pos.getX();
+            int y = pos.getY();
+            int z = pos.getZ();
+
+            long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            if (key != lastKey) {
+                lastKey = key;
+                lastBits = this.sections.get(key);
+            }
+
+            if (lastBits == null || !test(lastBits, x, y, z)) {
+                if (write != read) {
+                    positions.set(write, pos);
+                }
+                write++;
+            }
+        }
+
+        if (write < size) {
+            positions.subList(write, size).clear();
+        }
+    }
+
+    public boolean isSectionFull(int sectionX, int sectionY, int sectionZ) {
+        return this.sections.get(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ)) == FULL;
+    }
+
+    public int getSectionCount() {
+        return this.sections.size();
+    }
+
+    public int getFullSectionCount() {
+        int count = 0;
+        for (Long2ObjectMap.Entry<long[]> entry : this.sections.long2ObjectEntrySet()) {
+            if (entry.getValue() == FULL) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes this index as a section count followed by each section key, a full flag and, for sections that are not
+     * full, the 64 words of its bitmap.
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(this.sections.size());
+        for (Long2ObjectMap.Entry<long[]> entry : this.sections.long2ObjectEntrySet()) {
+            long[] bits = entry.getValue();
+            output.writeLong(entry.getLongKey());
+            output.writeBoolean(bits == FULL);
+            if (bits != FULL) {
+                for (long word : bits) {
+                    output.writeLong(word);
+                }
+            }
+        }
+    }
+
+    public static ProtectedBlockIndex read(ByteBuffer buffer) {
+        ProtectedBlockIndex index = new ProtectedBlockIndex();
+
+        int sectionCount = buffer.getInt();
+        for (int i = 0; i < sectionCount; i++) {
+            long key = buffer.getLong();
+            boolean full = buffer.get() != 0;
+            if (full) {
+                index.sections.put(key, FULL);
+            } else {
+                long[] bits = new long[WORDS];
+                buffer.asLongBuffer().get(bits);
+                buffer.position(buffer.position() + WORDS * Long.BYTES);
+                index.sections.put(key, bits);
+            }
+        }
+
+        return index;
+    }
+
+    private static boolean test(long[] bits, int x, int y, int z) {
+        int index = index(x & 15, y & 15, z & 15);
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+}
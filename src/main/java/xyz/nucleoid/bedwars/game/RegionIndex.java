@@ -0,0 +1,161 @@
+package xyz.nucleoid.bedwars.game;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers which of a set of regions contains a position, by bucketing regions into a uniform grid of columns over the
+ * x and z axes. A lookup only tests the few regions that overlap the column of the queried position.
+ * <p>
+ * Regions spanning more than {@link #MAX_REGION_CELLS} columns are kept in a separate list that every lookup tests,
+ * so that a single huge region does not fill the grid. Regions are only added while the map is built; lookups may
+ * then come from any thread.
+ */
+public final class RegionIndex<T> {
+    private static final int CELL_SHIFT = 4;
+    private static final int MAX_REGION_CELLS = 256;
+
+    private static final Entry<?>[] EMPTY = new Entry<?>[0];
+
+    private final Long2ObjectOpenHashMap<Entry<T>[]> cells = new Long2ObjectOpenHashMap<>();
+    private final List<Entry<T>> oversized = new ArrayList<>();
+    private int size;
+
+    public void add(BlockBounds bounds, T value) {
+        Entry<T> entry = new Entry<>(bounds, value, this.size);
+
+        int minCellX = entry.minX >> CELL_SHIFT;
+        int minCellZ = entry.minZ >> CELL_SHIFT;
+        int maxCellX = entry.maxX >> CELL_SHIFT;
+        int maxCellZ = entry.maxZ >> CELL_SHIFT;
+
+        long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+        if (cellCount > MAX_REGION_CELLS) {
+            this.oversized.add(entry);
+        } else {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    this.addToCell(ChunkPos.toLong(cellX, cellZ), entry);
+                }
+            }
+        }
+
+        this.size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToCell(long key, Entry<T> entry) {
+        Entry<T>[] entries = this.cells.getOrDefault(key, (Entry<T>[]) EMPTY);
+        entries = Arrays.copyOf(entries, entries.length + 1);
+        entries[entries.length - 1] = entry;
+        this.cells.put(key, entries);
+    }
+
+    /**
+     * @return the value of the first region added that contains the given position, or null if there is none
+     */
+    @Nullable
+    public T find(int x, int y, int z) {
+        Entry<T> found = null;
+
+        Entry<T>[] entries = this.cells.get(ChunkPos.toLong(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (entries != null) {
+            for (Entry<T> entry : entries) {
+                if (entry.contains(x, y, z)) {
+                    found = entry;
+                    break;
+                }
+            }
+        }
+
+        List<Entry<T>> oversized = this.oversized;
+        for (int i = 0; i < oversized.size(); i++) {
+            Entry<T> entry = oversized.get(i);
+            if ((found == null || entry.order < found.order) && entry.contains(x, y, z)) {
+                found = entry;
+            }
+        }
+
+        return found != null ? found.value : null;
+    }
+
+    @Nullable
+    public T find(BlockPos pos) {
+        return this.find(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * @return the value of the first region added whose x and z range contains the given column, at any height
+     */
+    @Nullable
+    public T findColumn(int x, int z) {
+        Entry<T> found = null;
+
+        Entry<T>[] entries = this.cells.get(ChunkPos.toLong(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (entries != null) {
+            for (Entry<T> entry : entries) {
+                if (entry.containsColumn(x, z)) {
+                    found = entry;
+                    break;
+                }
+            }
+        }
+
+        List<Entry<T>> oversized = this.oversized;
+        for (int i = 0; i < oversized.size(); i++) {
+            Entry<T> entry = oversized.get(i);
+            if ((found == null || entry.order < found.order) && entry.containsColumn(x, z)) {
+                found = entry;
+            }
+        }
+
+        return found != null ? found.value : null;
+    }
+
+    public boolean contains(BlockPos pos) {
+        return this.find(pos) != null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    private static final class Entry<T> {
+        final int order;
+        final int minX, minY, minZ;
+        final int maxX, maxY, maxZ;
+        final T value;
+
+        Entry(BlockBounds bounds, T value, int order) {
+            BlockPos min = bounds.getMin();
+            BlockPos max = bounds.getMax();
+            this.minX = Math.min(min.getX(), max.getX());
+            this.minY = Math.min(min.getY(), max.getY());
+            this.minZ = Math.min(min.getZ(), max.getZ());
+            this.maxX = Math.max(min.getX(), max.getX());
+            this.maxY = Math.max(min.getY(), max.getY());
+            this.maxZ = Math.max(min.getZ(), max.getZ());
+            this.value = value;
+            this.order = order;
+        }
+
+        boolean contains(int x, int y, int z) {
+            return y >= this.minY && y <= this.maxY && this.containsColumn(x, z);
+        }
+
+        boolean containsColumn(int x, int z) {
+            return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package xyz.nucleoid.bedwars.game.active;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.block.AbstractChestBlock;
 import net.minecraft.block.BlockState;
@@ -31,6 +34,7 @@ import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.GameMode;
 import org.jetbrains.annotations.Nullable;
 import xyz.nucleoid.bedwars.BedWars;
@@ -41,9 +45,18 @@ import xyz.nucleoid.bedwars.custom.MovingCloud;
 import xyz.nucleoid.bedwars.game.BwConfig;
 import xyz.nucleoid.bedwars.game.BwMap;
 import xyz.nucleoid.bedwars.game.BwSpawnLogic;
+import xyz.nucleoid.bedwars.game.active.economy.BwEconomy;
+import xyz.nucleoid.bedwars.game.active.event.BwEventBus;
+import xyz.nucleoid.bedwars.game.active.event.BwEventType;
+import xyz.nucleoid.bedwars.game.active.event.BwEvents;
+import xyz.nucleoid.bedwars.game.active.event.GameOverEvent;
+import xyz.nucleoid.bedwars.game.active.event.TeamEliminatedEvent;
 import xyz.nucleoid.bedwars.game.active.modifiers.BwGameTriggers;
 import xyz.nucleoid.bedwars.game.active.modifiers.GameModifier;
 import xyz.nucleoid.bedwars.game.active.modifiers.GameTrigger;
+import xyz.nucleoid.bedwars.game.active.profiler.BwTickProfiler;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+import xyz.nucleoid.bedwars.game.active.scheduler.BwScheduler;
 import xyz.nucleoid.bedwars.util.WoodBlocks;
 import xyz.nucleoid.plasmid.game.GameCloseReason;
 import xyz.nucleoid.plasmid.game.GameSpace;
@@ -55,16 +68,15 @@ import xyz.nucleoid.plasmid.game.player.PlayerSet;
 import xyz.nucleoid.plasmid.game.rule.GameRule;
 import xyz.nucleoid.plasmid.game.rule.RuleResult;
 import xyz.nucleoid.plasmid.logic.combat.OldCombat;
-import xyz.nucleoid.plasmid.util.BlockBounds;
 import xyz.nucleoid.plasmid.util.ColoredBlocks;
 import xyz.nucleoid.plasmid.util.ItemStackBuilder;
 import xyz.nucleoid.plasmid.util.PlayerRef;
 import xyz.nucleoid.plasmid.widget.GlobalWidgets;
 
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
-public final class BwActive {
+public final class BwActive implements BwWinStateLogic.Host {
     public static final int RESPAWN_TIME_SECONDS = 5;
     public static final long RESPAWN_TICKS = 20 * RESPAWN_TIME_SECONDS;
     public static final long CLOSE_TICKS = 10 * 20;
@@ -77,8 +89,13 @@ public final class BwActive {
     public final BwConfig config;
 
     private final Map<PlayerRef, BwParticipant> participants = new Object2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<BwParticipant> onlineParticipants = new Int2ObjectOpenHashMap<>();
+    private final List<BwParticipant> participantList = new ObjectArrayList<>();
     private final Map<GameTeam, TeamState> teams = new Reference2ObjectOpenHashMap<>();
 
+    private final List<BwParticipant> participantsView = Collections.unmodifiableList(this.participantList);
+    private final Collection<TeamState> teamsView = Collections.unmodifiableCollection(this.teams.values());
+
     public final BwScoreboard scoreboard;
     public final BwBroadcast broadcast;
     public final BwTeamLogic teamLogic;
@@ -87,17 +104,23 @@ public final class BwActive {
     public final BwMapLogic mapLogic;
     public final BwPlayerLogic playerLogic;
     public final BwSpawnLogic spawnLogic;
+    public final BwTickProfiler profiler;
+    public final BwScheduler scheduler;
+    public final BwEventBus events;
+    public final BwTickGovernor governor;
+    public final BwItemDelivery itemDelivery;
+    public final BwEconomy economy;
     private final BwBar bar;
 
+    private final Map<GameTrigger, GameModifier[]> modifiersByTrigger = new Reference2ObjectOpenHashMap<>();
+    private final GameModifier[] tickableModifiers;
+
     private boolean opened;
+    private boolean closing;
 
     private long startTime;
-    private boolean destroyedBeds;
-
-    private long lastWinCheck;
 
-    private GameTeam winningTeam;
-    private long closeTime;
+    private BwWinStateLogic.WinResult winResult;
 
     private final List<MovingCloud> movingClouds = new ArrayList<>();
 
@@ -109,6 +132,19 @@ public final class BwActive {
         this.config = config;
 
         this.scoreboard = gameSpace.addResource(BwScoreboard.create(this, widgets));
+        this.profiler = gameSpace.addResource(BwTickProfiler.create(gameSpace));
+        this.scheduler = new BwScheduler(this.profiler);
+        this.events = gameSpace.addResource(new BwEventBus(this.world.getRegistryKey().getValue().toString()));
+
+        this.governor = new BwTickGovernor(gameSpace.getServer(), config.tickBudget);
+        this.itemDelivery = new BwItemDelivery();
+        this.economy = new BwEconomy(this.world, config.teams);
+
+        this.profiler.attachReport(this.scheduler::report);
+        this.profiler.attachReport(this.events::report);
+        this.profiler.attachReport(this.governor::report);
+        this.profiler.attachReport(this.itemDelivery::report);
+        this.profiler.attachReport(this.economy::report);
 
         this.broadcast = new BwBroadcast(this);
         this.teamLogic = new BwTeamLogic(this);
@@ -119,6 +155,37 @@ public final class BwActive {
         this.spawnLogic = new BwSpawnLogic(this.world, map);
 
         this.bar = BwBar.create(widgets);
+
+        List<GameModifier> tickableModifiers = new ArrayList<>();
+        for (GameModifier modifier : config.modifiers) {
+            GameTrigger trigger = modifier.getTrigger();
+            GameModifier[] modifiers = this.modifiersByTrigger.getOrDefault(trigger, new GameModifier[0]);
+            modifiers = Arrays.copyOf(modifiers, modifiers.length + 1);
+            modifiers[modifiers.length - 1] = modifier;
+            this.modifiersByTrigger.put(trigger, modifiers);
+
+            if (trigger.tickable) {
+                tickableModifiers.add(modifier);
+            }
+        }
+        this.tickableModifiers = tickableModifiers.toArray(new GameModifier[0]);
+
+        this.events.on(BwEvents.PLAYER_DEATH, event -> this.triggerModifiers(BwGameTriggers.PLAYER_DEATH));
+        this.events.on(BwEvents.FINAL_DEATH, event -> this.triggerModifiers(BwGameTriggers.FINAL_DEATH));
+        this.events.on(BwEvents.BED_BROKEN, event -> this.triggerModifiers(BwGameTriggers.BED_BROKEN));
+
+        if (BedWars.LOGGER.isDebugEnabled()) {
+            this.logEvents(BwEvents.PLAYER_DEATH);
+            this.logEvents(BwEvents.FINAL_DEATH);
+            this.logEvents(BwEvents.BED_BROKEN);
+            this.logEvents(BwEvents.TEAM_ELIMINATED);
+            this.logEvents(BwEvents.TEAM_UPGRADE);
+            this.logEvents(BwEvents.GAME_OVER);
+        }
+    }
+
+    private <T> void logEvents(BwEventType<T> type) {
+        this.events.subscribeAsync(type, event -> BedWars.LOGGER.debug("[{}] {}", type, event));
     }
 
     public static void open(GameSpace gameSpace, BwMap map, BwConfig config, Multimap<GameTeam, ServerPlayerEntity> players) {
@@ -143,9 +210,11 @@ public final class BwActive {
             game.setRule(BedWars.TRIDENTS_LOYAL_IN_VOID, RuleResult.ALLOW);
 
             game.on(GameOpenListener.EVENT, active::onOpen);
+            game.on(GameCloseListener.EVENT, active::onClose);
 
             game.on(OfferPlayerListener.EVENT, player -> JoinResult.ok());
             game.on(PlayerAddListener.EVENT, active::addPlayer);
+            game.on(PlayerRemoveListener.EVENT, active::removePlayer);
 
             game.on(GameTickListener.EVENT, active::tick);
 
@@ -156,9 +225,7 @@ public final class BwActive {
             game.on(UseBlockListener.EVENT, active::onUseBlock);
             game.on(UseItemListener.EVENT, active::onUseItem);
 
-            game.on(ExplosionListener.EVENT, affectedBlocks -> {
-                affectedBlocks.removeIf(map::isProtectedBlock);
-            });
+            game.on(ExplosionListener.EVENT, map::removeProtectedBlocks);
         });
     }
 
@@ -168,9 +235,14 @@ public final class BwActive {
         players.forEach((team, player) -> {
             BwParticipant participant = new BwParticipant(this, player, team);
             this.participants.put(participant.ref, participant);
+            this.onlineParticipants.put(player.getEntityId(), participant);
+            this.participantList.add(participant);
 
             TeamState teamState = this.teams.computeIfAbsent(team, t -> new TeamState(server, t));
             teamState.players.add(player);
+            teamState.participants.add(participant);
+            teamState.onlineCount++;
+            teamState.aliveCount++;
         });
     }
 
@@ -197,38 +269,70 @@ public final class BwActive {
 
         this.startTime = this.world.getTime();
         this.opened = true;
+
+        this.scheduler.start(this.startTime);
+        this.economy.start(this.startTime);
+
+        // TODO: this should be modular
+        this.scheduler.schedule(BED_GONE_TICKS, this::destroyAllBeds);
+        this.scheduler.scheduleStaggered(20, this::tickBarAndBounds);
+
+        this.mapLogic.start();
+        this.scoreboard.start();
+        this.playerLogic.start();
+        this.governor.start(this.scheduler);
+    }
+
+    private void onClose() {
+        // the game space removes every player once it closes, which must not be taken as teams leaving the game
+        this.closing = true;
+
+        // exported here rather than on the win result, so that games closed before they finish are exported too
+        if (this.opened) {
+            this.economy.export();
+        }
     }
 
     private void addPlayer(ServerPlayerEntity player) {
-        if (this.opened && this.isParticipant(player)) {
-            this.rejoinPlayer(player);
+        // a rejoining player has a new entity, so they can only be found by their uuid here
+        BwParticipant participant = this.participants.get(PlayerRef.of(player));
+        if (this.opened && participant != null) {
+            this.rejoinPlayer(participant, player);
         } else {
             this.spawnLogic.resetPlayer(player, GameMode.SPECTATOR);
             this.spawnLogic.spawnAtCenter(player);
         }
     }
 
-    private void rejoinPlayer(ServerPlayerEntity player) {
-        BwParticipant participant = this.getParticipant(player);
+    private void rejoinPlayer(BwParticipant participant, ServerPlayerEntity player) {
+        participant.player = player;
+        this.onlineParticipants.put(player.getEntityId(), participant);
+
+        this.winStateLogic.onPlayerRejoin(participant);
 
+        BwMap.TeamSpawn spawn = this.teamLogic.tryRespawn(participant);
+        if (spawn != null) {
+            this.playerLogic.respawnOnTimer(player, spawn);
+        } else {
+            this.spawnLogic.respawnPlayer(player, GameMode.SPECTATOR);
+            this.spawnLogic.spawnAtCenter(player);
+        }
+    }
+
+    private void removePlayer(ServerPlayerEntity player) {
+        BwParticipant participant = this.onlineParticipants.remove(player.getEntityId());
         if (participant != null) {
-            BwMap.TeamSpawn spawn = this.teamLogic.tryRespawn(participant);
-            if (spawn != null) {
-                this.playerLogic.respawnOnTimer(player, spawn);
-            } else {
-                this.spawnLogic.respawnPlayer(player, GameMode.SPECTATOR);
-                this.spawnLogic.spawnAtCenter(player);
+            participant.player = null;
+            if (!this.closing) {
+                this.winStateLogic.onPlayerLeave(participant);
             }
         }
     }
 
     private ActionResult onBreakBlock(ServerPlayerEntity player, BlockPos pos) {
         if (this.map.isProtectedBlock(pos)) {
-            for (GameTeam team : this.config.teams) {
-                BlockBounds bed = this.map.getTeamRegions(team).bed;
-                if (bed != null && bed.contains(pos)) {
-                    this.teamLogic.onBedBroken(player, pos);
-                }
+            if (this.map.getBedTeamAt(pos) != null) {
+                this.teamLogic.onBedBroken(player, pos);
             }
 
             return ActionResult.FAIL;
@@ -292,7 +396,7 @@ public final class BwActive {
         return ActionResult.PASS;
     }
 
-    private void findLogs(ServerWorld world, BlockPos pos, Set<BlockPos> logs) {
+    static void findLogs(BlockView world, BlockPos pos, Set<BlockPos> logs) {
         for(int x = -1; x <= 1; x++) {
             for(int z = -1; z <= 1; z++) {
                 for(int y = -1; y <= 1; y++) {
@@ -330,7 +434,7 @@ public final class BwActive {
                     return ActionResult.FAIL;
                 }
 
-                attackedParticipant.lastAttack = AttackRecord.fromAttacker(attackerPlayer);
+                attackedParticipant.lastAttack = new AttackRecord(attackerParticipant.ref, this.world.getTime());
             }
         }
 
@@ -384,13 +488,7 @@ public final class BwActive {
 
     @Nullable
     private GameTeam getOwningTeamForChest(BlockPos pos) {
-        for (GameTeam team : this.config.teams) {
-            BwMap.TeamRegions regions = this.map.getTeamRegions(team);
-            if (regions.teamChest != null && regions.teamChest.contains(pos)) {
-                return team;
-            }
-        }
-        return null;
+        return this.map.getChestTeamAt(pos);
     }
 
     private TypedActionResult<ItemStack> onUseItem(ServerPlayerEntity player, Hand hand) {
@@ -433,11 +531,13 @@ public final class BwActive {
         );
 
         // Get player wool color
-        GameTeam team = this.getTeam(PlayerRef.of(player));
-        if (team == null) {
+        BwParticipant participant = this.getParticipant(player);
+        if (participant == null) {
             return TypedActionResult.pass(stack);
         }
 
+        GameTeam team = participant.team;
+
         BlockState state = ColoredBlocks.wool(team.getDye()).getDefaultState();
 
         // Spawn egg
@@ -478,92 +578,117 @@ public final class BwActive {
     }
 
     private void tick() {
-        if (this.winningTeam != null) {
-            if (this.tickClosing()) {
-                this.gameSpace.close(GameCloseReason.FINISHED);
-            }
-            return;
-        }
+        long start = this.profiler.begin();
+        this.tickGame();
+        this.profiler.end(TickPhase.TOTAL, start);
+    }
 
-        long time = this.world.getTime();
+    private void tickGame() {
+        long start = this.profiler.begin();
+        this.scheduler.tick(this.world.getTime());
+        this.itemDelivery.flush();
+        this.profiler.end(TickPhase.SCHEDULER, start);
 
-        PlayerSet players = this.gameSpace.getPlayers();
+        if (this.winResult != null) {
+            this.tickClosing();
+            return;
+        }
 
-        // TODO: this should be modular
-        if (!this.destroyedBeds) {
-            if (time - this.startTime > BED_GONE_TICKS) {
-                this.destroyedBeds = true;
+        long cloudStart = this.profiler.begin();
+        this.tickMovingClouds();
+        this.profiler.end(TickPhase.MOVING_CLOUDS, cloudStart);
 
-                for (GameTeam team : this.config.teams) {
-                    this.teamLogic.removeBed(team);
-                }
+        this.tickActive();
+    }
 
-                players.sendMessage(new LiteralText("Destroyed all beds!").formatted(Formatting.RED));
-                players.sendSound(SoundEvents.BLOCK_END_PORTAL_SPAWN);
+    private void tickMovingClouds() {
+        List<MovingCloud> clouds = this.movingClouds;
+        for (int i = clouds.size() - 1; i >= 0; i--) {
+            if (clouds.get(i).tick(this.governor)) {
+                clouds.remove(i);
             }
         }
+    }
 
-        if (time % 20 == 0) {
-            long bedGoneTime = this.startTime + BED_GONE_TICKS;
-            this.bar.update(bedGoneTime - time, BED_GONE_TICKS);
-
-            for (ServerPlayerEntity player : players) {
-                if (!player.isSpectator() && !this.map.isLegalAt(player.getBlockPos())) {
-                    player.damage(DamageSource.OUT_OF_WORLD, 10000.0F);
-                }
-            }
+    private void destroyAllBeds() {
+        for (GameTeam team : this.config.teams) {
+            this.teamLogic.removeBed(team);
         }
 
-        this.movingClouds.removeIf(MovingCloud::tick);
-
-        BwWinStateLogic.WinResult winResult = this.tickActive();
-        if (winResult != null) {
-            this.winningTeam = winResult.getTeam();
-            this.closeTime = this.world.getTime() + CLOSE_TICKS;
-        }
+        PlayerSet players = this.gameSpace.getPlayers();
+        players.sendMessage(new LiteralText("Destroyed all beds!").formatted(Formatting.RED));
+        players.sendSound(SoundEvents.BLOCK_END_PORTAL_SPAWN);
     }
 
-    @Nullable
-    private BwWinStateLogic.WinResult tickActive() {
+    private void tickBarAndBounds() {
         long time = this.world.getTime();
 
-        if (time - this.lastWinCheck > 20) {
-            BwWinStateLogic.WinResult winResult = this.winStateLogic.checkWinResult();
-            if (winResult != null) {
-                this.broadcast.broadcastGameOver(winResult);
-                return winResult;
-            }
+        long bedGoneTime = this.startTime + BED_GONE_TICKS;
+        this.bar.update(bedGoneTime - time, BED_GONE_TICKS);
 
-            this.lastWinCheck = time;
+        for (ServerPlayerEntity player : this.gameSpace.getPlayers()) {
+            if (!player.isSpectator() && !this.map.isLegalAt(player.getBlockPos())) {
+                player.damage(DamageSource.OUT_OF_WORLD, 10000.0F);
+            }
         }
+    }
 
-        this.mapLogic.tick();
+    private void tickActive() {
+        BwTickProfiler profiler = this.profiler;
 
-        this.scoreboard.tick();
+        long start = profiler.begin();
         this.playerLogic.tick();
+        start = profiler.end(TickPhase.PLAYER_LOGIC, start);
 
         // Tick modifiers
-        for (GameModifier modifier : this.config.modifiers) {
-            if (modifier.getTrigger().tickable) {
-                modifier.tick(this);
-            }
+        for (GameModifier modifier : this.tickableModifiers) {
+            modifier.tick(this);
         }
+        profiler.end(TickPhase.MODIFIERS, start);
+    }
 
-        return null;
+    /**
+     * Evaluates the win condition. This is called by {@link BwWinStateLogic} whenever a team is eliminated, rather
+     * than being polled every tick.
+     */
+    @Override
+    public void onTeamEliminated(TeamState teamState) {
+        this.broadcast.broadcastTeamEliminated(teamState.team);
+        this.events.publish(BwEvents.TEAM_ELIMINATED, new TeamEliminatedEvent(this.world.getTime(), teamState.team));
+
+        this.checkWinResult();
     }
 
-    private boolean tickClosing() {
-        if (this.winningTeam != null) {
-            this.spawnFireworks(this.winningTeam);
+    void checkWinResult() {
+        if (this.winResult != null) {
+            return;
         }
 
-        return this.world.getTime() >= this.closeTime;
+        BwWinStateLogic.WinResult winResult = this.winStateLogic.checkWinResult();
+        if (winResult != null) {
+            this.broadcast.broadcastGameOver(winResult);
+            this.events.publish(BwEvents.GAME_OVER, new GameOverEvent(this.world.getTime(), winResult.getTeam()));
+
+            this.winResult = winResult;
+
+            // nothing else should run once the game is over
+            this.scheduler.cancelAll();
+            this.scheduler.schedule(CLOSE_TICKS, () -> this.gameSpace.close(GameCloseReason.FINISHED));
+            this.governor.start(this.scheduler);
+        }
+    }
+
+    private void tickClosing() {
+        GameTeam winningTeam = this.winResult.getTeam();
+        if (winningTeam != null) {
+            this.spawnFireworks(winningTeam);
+        }
     }
 
     private void spawnFireworks(GameTeam team) {
         Random random = this.world.random;
 
-        if (random.nextInt(18) == 0) {
+        if (random.nextInt(18) == 0 && this.governor.allowCosmetic(BwTickGovernor.Cosmetic.FIREWORKS)) {
             List<ServerPlayerEntity> players = Lists.newArrayList(this.players());
             ServerPlayerEntity player = players.get(random.nextInt(players.size()));
 
@@ -607,16 +732,20 @@ public final class BwActive {
     }
 
     public void triggerModifiers(GameTrigger type) {
-        for (GameModifier modifier : this.config.modifiers) {
-            if (modifier.getTrigger() == type) {
+        GameModifier[] modifiers = this.modifiersByTrigger.get(type);
+        if (modifiers != null) {
+            for (GameModifier modifier : modifiers) {
                 modifier.init(this);
             }
         }
     }
 
+    /**
+     * Looks up an online participant by their entity id, without allocating.
+     */
     @Nullable
     public BwParticipant getParticipant(PlayerEntity player) {
-        return this.participants.get(PlayerRef.of(player));
+        return this.onlineParticipants.get(player.getEntityId());
     }
 
     @Nullable
@@ -634,11 +763,20 @@ public final class BwActive {
     }
 
     public boolean isParticipant(PlayerEntity player) {
-        return this.participants.containsKey(PlayerRef.of(player));
+        return this.onlineParticipants.containsKey(player.getEntityId());
     }
 
-    public Stream<BwParticipant> participantsFor(GameTeam team) {
-        return this.participants.values().stream().filter(participant -> participant.team == team);
+    /**
+     * @return the participants of the given team, backed by the index kept in {@link TeamState}. Prefer an indexed
+     * loop over this list on hot paths to avoid iterator and lambda allocation.
+     */
+    public List<BwParticipant> participantsFor(GameTeam team) {
+        return participantsFor(this.teams, team);
+    }
+
+    static List<BwParticipant> participantsFor(Map<GameTeam, TeamState> teams, GameTeam team) {
+        TeamState teamState = teams.get(team);
+        return teamState != null ? teamState.participants() : Collections.emptyList();
     }
 
     public PlayerSet playersFor(GameTeam team) {
@@ -650,18 +788,21 @@ public final class BwActive {
         return this.gameSpace.getPlayers();
     }
 
-    public Stream<BwParticipant> participants() {
-        return this.participants.values().stream();
+    public List<BwParticipant> participants() {
+        return this.participantsView;
     }
 
-    public Stream<TeamState> teams() {
-        return this.teams.values().stream();
+    @Override
+    public Collection<TeamState> teams() {
+        return this.teamsView;
     }
 
+    @Override
     public int getTeamCount() {
         return this.teams.size();
     }
 
+    @Override
     @Nullable
     public TeamState getTeam(GameTeam team) {
         return this.teams.get(team);
@@ -672,19 +813,56 @@ public final class BwActive {
         public static final int MAX_PROTECTION = 3;
 
         final MutablePlayerSet players;
+        final List<BwParticipant> participants = new ObjectArrayList<>();
         final GameTeam team;
         boolean hasBed = true;
         boolean eliminated;
 
+        int onlineCount;
+        int aliveCount;
+        int eliminatedCount;
+
         public boolean trapSet;
         public boolean healPool;
         public boolean hasteEnabled;
         public int swordSharpness;
         public int armorProtection;
 
+        private final List<BwParticipant> participantsView = Collections.unmodifiableList(this.participants);
+
         TeamState(MinecraftServer server, GameTeam team) {
             this.players = new MutablePlayerSet(server);
             this.team = team;
         }
+
+        public List<BwParticipant> participants() {
+            return this.participantsView;
+        }
+
+        public int getParticipantCount() {
+            return this.participants.size();
+        }
+
+        public int getOnlineCount() {
+            return this.onlineCount;
+        }
+
+        /**
+         * @return the number of participants that are online and not eliminated
+         */
+        public int getAliveCount() {
+            return this.aliveCount;
+        }
+
+        public int getEliminatedCount() {
+            return this.eliminatedCount;
+        }
+
+        public void forEachParticipant(Consumer<BwParticipant> consumer) {
+            List<BwParticipant> participants = this.participants;
+            for (int i = 0; i < participants.size(); i++) {
+                consumer.accept(participants.get(i));
+            }
+        }
     }
 }
@@ -0,0 +1,74 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.List;
+
+/**
+ * Collects items handed directly to players, such as generator splits, and inserts them once per player and item at
+ * the end of the tick. Several generators paying out to the same player in one tick then cost a single inventory
+ * insert and update.
+ */
+public final class BwItemDelivery {
+    private final List<ServerPlayerEntity> players = new ObjectArrayList<>();
+    private final List<ItemStack> stacks = new ObjectArrayList<>();
+    private final IntArrayList counts = new IntArrayList();
+
+    private long delivered;
+    private long inserts;
+
+    BwItemDelivery() {
+    }
+
+    /**
+     * Queues the given stack to be given to the player at the end of this tick. The given stack is copied, not kept.
+     */
+    public void give(ServerPlayerEntity player, ItemStack stack) {
+        this.delivered += stack.getCount();
+
+        List<ServerPlayerEntity> players = this.players;
+        List<ItemStack> stacks = this.stacks;
+        for (int i = 0; i < players.size(); i++) {
+            ItemStack pending = stacks.get(i);
+            if (players.get(i) == player && pending.getItem() == stack.getItem() && ItemStack.areTagsEqual(pending, stack)) {
+                this.counts.set(i, this.counts.getInt(i) + stack.getCount());
+                return;
+            }
+        }
+
+        players.add(player);
+        stacks.add(stack.copy());
+        this.counts.add(stack.getCount());
+    }
+
+    void flush() {
+        List<ServerPlayerEntity> players = this.players;
+        if (players.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayerEntity player = players.get(i);
+            if (!player.removed) {
+                ItemStack stack = this.stacks.get(i);
+                stack.setCount(this.counts.getInt(i));
+                player.giveItemStack(stack);
+                player.inventory.markDirty();
+                this.inserts++;
+            }
+        }
+
+        players.clear();
+        this.stacks.clear();
+        this.counts.clear();
+    }
+
+    public List<String> report() {
+        List<String> lines = new ObjectArrayList<>();
+        lines.add(String.format("item delivery: %d items in %d inserts", this.delivered, this.inserts));
+        return lines;
+    }
+}
@@ -1,11 +1,23 @@
 package xyz.nucleoid.bedwars.game.active;
 
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.game.active.economy.BwEconomy;
+import xyz.nucleoid.bedwars.game.active.economy.ResourceFlow;
+import xyz.nucleoid.bedwars.game.active.profiler.BwTickProfiler;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+import xyz.nucleoid.bedwars.game.active.scheduler.BwScheduler;
+import xyz.nucleoid.bedwars.game.active.scheduler.ScheduledTask;
 import xyz.nucleoid.plasmid.entity.FloatingText;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.util.BlockBounds;
-import net.minecraft.entity.EntityType;
 import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.Packet;
 import net.minecraft.network.packet.s2c.play.ItemPickupAnimationS2CPacket;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -17,26 +29,61 @@ import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.Consumer;
 
 public final class BwItemGenerator {
+    private static final int VIRTUAL_CHECK_INTERVAL = 5;
+    private static final double VIRTUAL_REACH = 3.0;
+    // items are spawned through the plain ItemEntity constructor, which leaves them without a pickup delay
+    private static final int SPAWN_PICKUP_DELAY = 0;
+
     private final BlockBounds bounds;
+    private final Box box;
     private ItemGeneratorPool pool;
+    private GameTeam team;
+
+    private BwActive game;
+
+    private ScheduledTask spawnTask;
+
+    private final List<ItemEntity> trackedItems = new ObjectArrayList<>();
+    private int itemCount;
 
-    private long lastItemSpawn;
+    private final Map<Item, ItemEntity> mergedItems = new Reference2ObjectOpenHashMap<>();
+
+    private final List<ItemStack> storedItems = new ObjectArrayList<>();
+    private int storedCount;
+    private ScheduledTask materializeTask;
+    private Box reachBox;
 
     private int maxItems = 4;
     private boolean allowDuplication;
+    private boolean mergeItems;
+    private boolean virtual;
 
     private boolean hasTimerText;
     private FloatingText timerText;
 
     public BwItemGenerator(BlockBounds bounds) {
         this.bounds = bounds;
+        this.box = bounds.toBox();
     }
 
     public BwItemGenerator setPool(ItemGeneratorPool pool) {
         this.pool = pool;
+        if (this.spawnTask != null) {
+            this.spawnTask.reschedulePeriod(pool.getSpawnInterval());
+        }
+        return this;
+    }
+
+    /**
+     * Attributes the resources this generator produces to the given team in the game's economy.
+     */
+    public BwItemGenerator ownedBy(GameTeam team) {
+        this.team = team;
         return this;
     }
 
@@ -45,6 +92,24 @@ public final class BwItemGenerator {
         return this;
     }
 
+    /**
+     * Keeps a single item entity per item type and grows its stack, rather than spawning an entity for every item.
+     * A new entity is only spawned once the existing stack is full or has been picked up.
+     */
+    public BwItemGenerator mergeItems() {
+        this.mergeItems = true;
+        return this;
+    }
+
+    /**
+     * Stores spawned items in a counter while no participant is near this generator, and only spawns them as item
+     * entities once one comes within reach. Stored items count towards {@link #maxItems(int)}.
+     */
+    public BwItemGenerator virtual() {
+        this.virtual = true;
+        return this;
+    }
+
     public BwItemGenerator maxItems(int maxItems) {
         this.maxItems = maxItems;
         return this;
@@ -55,22 +120,55 @@ public final class BwItemGenerator {
         return this;
     }
 
-    public void tick(ServerWorld world, BwActive game) {
+    public BlockBounds getBounds() {
+        return this.bounds;
+    }
+
+    /**
+     * Registers this generator's spawn and timer text tasks with the game scheduler, so that generators only do work
+     * on the ticks they are due. Changing the pool moves the pending spawn to match the new interval.
+     */
+    public void start(BwActive game, int index) {
         if (this.pool == null) return;
 
-        long time = world.getTime();
+        this.game = game;
 
-        if (this.hasTimerText) {
-            this.tickTimerText(world);
+        ServerWorld world = game.world;
+        BwScheduler scheduler = game.scheduler;
+        BwTickProfiler profiler = game.profiler;
+
+        if (this.virtual) {
+            this.reachBox = this.box.expand(VIRTUAL_REACH);
         }
 
-        if (time - this.lastItemSpawn > this.pool.getSpawnInterval()) {
+        this.spawnTask = scheduler.scheduleRepeating(0, this.pool.getSpawnInterval(), () -> {
+            long start = profiler.begin();
             this.spawnItems(world, game);
-            this.lastItemSpawn = time;
+            profiler.endGenerator(index, this, start);
+            profiler.end(TickPhase.ITEM_GENERATORS, start);
+        });
+
+        if (this.hasTimerText) {
+            scheduler.scheduleStaggered(20, TickPhase.ITEM_GENERATORS, () -> this.tickTimerText(world, game.governor));
         }
     }
 
-    private void tickTimerText(ServerWorld world) {
+    /**
+     * Registers only this generator's spawn task, for driving it without a world: each produced stack is recorded in
+     * the given economy and handed to the output rather than spawned, and the generator never fills up.
+     */
+    public void startDetached(BwScheduler scheduler, BwEconomy economy, Random random, Consumer<ItemStack> output) {
+        if (this.pool == null) return;
+
+        this.spawnTask = scheduler.scheduleRepeating(0, this.pool.getSpawnInterval(), () -> {
+            ItemStack stack = this.produce(economy, random);
+            if (stack != null) {
+                output.accept(stack.copy());
+            }
+        });
+    }
+
+    private void tickTimerText(ServerWorld world, BwTickGovernor governor) {
         long time = world.getTime();
 
         if (this.timerText == null) {
@@ -80,17 +178,13 @@ public final class BwItemGenerator {
             if (world.isChunkLoaded(MathHelper.floor(textPos.x) >> 4, MathHelper.floor(textPos.z) >> 4)) {
                 this.timerText = FloatingText.spawn(world, textPos, this.getTimerText(time));
             }
-        }
-
-        if (this.timerText != null && time % 20 == 0) {
+        } else if (governor.allowCosmetic(BwTickGovernor.Cosmetic.FLOATING_TEXT)) {
             this.timerText.setText(this.getTimerText(time));
         }
     }
 
     private Text getTimerText(long time) {
-        long timeSinceSpawn = time - this.lastItemSpawn;
-
-        long timeUntilSpawn = this.pool.getSpawnInterval() - timeSinceSpawn;
+        long timeUntilSpawn = this.spawnTask.getDeadline() - time;
         timeUntilSpawn = Math.max(0, timeUntilSpawn);
 
         // TODO: duplication with scoreboard
@@ -111,25 +205,150 @@ public final class BwItemGenerator {
         MutableText titleText = new LiteralText("Next spawn in: ");
         MutableText numberText = new LiteralText(String.format("%02d:%02d", minutes, seconds));
 
-        return titleText.formatted(titleFormatting).append(numberText.formatted(numberFormatting));
+        MutableText text = titleText.formatted(titleFormatting).append(numberText.formatted(numberFormatting));
+        if (this.storedCount > 0) {
+            text.append(new LiteralText(" (" + this.storedCount + " waiting)").formatted(Formatting.GRAY));
+        }
+
+        return text;
     }
 
     private void spawnItems(ServerWorld world, BwActive game) {
         Random random = world.random;
-        ItemStack stack = this.pool.sample(random).copy();
+        ItemStack stack = this.produce(game.economy, random);
+        if (stack == null) {
+            return;
+        }
+
+        if (this.virtual) {
+            if (!this.isParticipantInReach(game)) {
+                this.storeItem(world, game, stack);
+                return;
+            }
+            this.materializeStoredItems(world);
+        }
+
+        this.spawnItem(world, game, random, stack);
+    }
+
+    /**
+     * Picks the next stack from the pool and records it as produced, unless this generator is full.
+     *
+     * @return the pool's own stack, which is only read from: a copy is made once an entity or stored entry needs one
+     */
+    @Nullable
+    private ItemStack produce(BwEconomy economy, Random random) {
+        if (this.getItemCount() >= this.maxItems) {
+            return null;
+        }
+
+        ItemStack stack = this.pool.getStack(this.pool.sampleEntry(random));
+        economy.record(this.team, stack.getItem(), ResourceFlow.PRODUCED, stack.getCount());
+
+        return stack;
+    }
+
+    private void spawnItem(ServerWorld world, BwActive game, Random random, ItemStack stack) {
+        ItemEntity itemEntity = null;
+        if (this.allowDuplication) {
+            itemEntity = this.createItemEntity(world, random, stack.copy());
+            if (this.giveItems(game, itemEntity)) {
+                return;
+            }
+        }
+
+        if (this.mergeItems && this.growMergedItem(stack)) {
+            return;
+        }
 
-        Box box = this.bounds.toBox();
+        if (itemEntity == null) {
+            itemEntity = this.createItemEntity(world, random, stack.copy());
+        }
+
+        if (world.spawnEntity(itemEntity)) {
+            this.trackItem(itemEntity);
+            if (this.mergeItems) {
+                this.mergedItems.put(stack.getItem(), itemEntity);
+            }
+        }
+    }
+
+    private void storeItem(ServerWorld world, BwActive game, ItemStack stack) {
+        List<ItemStack> stored = this.storedItems;
+        boolean combined = false;
+        for (int i = 0; i < stored.size(); i++) {
+            ItemStack storedStack = stored.get(i);
+            if (storedStack.getItem() == stack.getItem() && ItemStack.areTagsEqual(storedStack, stack)) {
+                storedStack.increment(stack.getCount());
+                combined = true;
+                break;
+            }
+        }
 
-        int itemCount = 0;
-        for (ItemEntity entity : world.getEntitiesByType(EntityType.ITEM, box.expand(1.0), entity -> true)) {
-            itemCount += entity.getStack().getCount();
+        if (!combined) {
+            stored.add(stack.copy());
+        }
+        this.storedCount += stack.getCount();
+
+        // only poll for nearby players while there is something to hand out
+        if (this.materializeTask == null) {
+            this.materializeTask = game.scheduler.scheduleRepeating(VIRTUAL_CHECK_INTERVAL, VIRTUAL_CHECK_INTERVAL, TickPhase.ITEM_GENERATORS, () -> {
+                if (this.isParticipantInReach(game)) {
+                    this.materializeStoredItems(world);
+                }
+            });
         }
+    }
 
-        if (itemCount >= this.maxItems) {
+    private void materializeStoredItems(ServerWorld world) {
+        if (this.materializeTask != null) {
+            this.materializeTask.cancel();
+            this.materializeTask = null;
+        }
+
+        if (this.storedItems.isEmpty()) {
             return;
         }
 
-        Box spawnBox = box.expand(-0.5, 0.0, -0.5);
+        Random random = world.random;
+        for (ItemStack stack : this.storedItems) {
+            // stored stacks are combined without a size limit, so split them back into valid stacks here
+            int remaining = stack.getCount();
+            while (remaining > 0) {
+                ItemStack split = stack.copy();
+                split.setCount(Math.min(remaining, stack.getMaxCount()));
+                remaining -= split.getCount();
+
+                ItemEntity itemEntity = this.createItemEntity(world, random, split);
+                if (world.spawnEntity(itemEntity)) {
+                    this.trackItem(itemEntity);
+                    if (this.mergeItems) {
+                        this.mergedItems.put(split.getItem(), itemEntity);
+                    }
+                }
+            }
+        }
+
+        this.storedItems.clear();
+        this.storedCount = 0;
+    }
+
+    private boolean isParticipantInReach(BwActive game) {
+        Box reachBox = this.reachBox;
+
+        List<BwParticipant> participants = game.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            ServerPlayerEntity player = participants.get(i).player();
+            if (player != null && !player.abilities.allowFlying && reachBox.intersects(player.getBoundingBox())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private ItemEntity createItemEntity(ServerWorld world, Random random, ItemStack stack) {
+        Box spawnBox = this.box.expand(-0.5, 0.0, -0.5);
         double x = spawnBox.minX + (spawnBox.maxX - spawnBox.minX) * random.nextDouble();
         double y = spawnBox.minY + 0.5;
         double z = spawnBox.minZ + (spawnBox.maxZ - spawnBox.minZ) * random.nextDouble();
@@ -137,32 +356,117 @@ public final class BwItemGenerator {
         ItemEntity itemEntity = new ItemEntity(world, x, y, z, stack);
         itemEntity.setVelocity(Vec3d.ZERO);
 
-        if (this.allowDuplication) {
-            if (this.giveItems(world, game, itemEntity)) {
-                return;
+        return itemEntity;
+    }
+
+    /**
+     * Adds the given stack onto the item entity this generator last spawned for the same item, if it has room. Like a
+     * vanilla merge with a newly spawned item, this restarts the despawn timer of the grown stack.
+     */
+    private boolean growMergedItem(ItemStack stack) {
+        ItemEntity merged = this.mergedItems.get(stack.getItem());
+        if (merged == null || merged.removed) {
+            return false;
+        }
+
+        ItemStack current = merged.getStack();
+        if (!ItemStack.areTagsEqual(current, stack) || current.getCount() + stack.getCount() > current.getMaxCount()) {
+            return false;
+        }
+
+        // set a new stack so that the count change is sent to clients
+        ItemStack grown = current.copy();
+        grown.increment(stack.getCount());
+        merged.setStack(grown);
+        ((GeneratorItem) merged).bedwars$onMerged(SPAWN_PICKUP_DELAY);
+
+        return true;
+    }
+
+    void trackItem(ItemEntity entity) {
+        GeneratorItem item = (GeneratorItem) entity;
+        item.bedwars$setGenerator(this);
+        item.bedwars$setTrackedCount(0);
+
+        this.trackedItems.add(entity);
+        this.updateTrackedItem(entity);
+    }
+
+    /**
+     * Applies a change in the stack of one of this generator's items to the running count. Called by
+     * {@link GeneratorItem} when the item is picked up or merged.
+     */
+    void updateTrackedItem(ItemEntity entity) {
+        GeneratorItem item = (GeneratorItem) entity;
+
+        int count = entity.removed ? 0 : entity.getStack().getCount();
+        this.itemCount += count - item.bedwars$getTrackedCount();
+        item.bedwars$setTrackedCount(count);
+    }
+
+    /**
+     * Called by {@link GeneratorItem} when a player picks up some or all of one of this generator's items.
+     */
+    void collectTrackedItem(ItemEntity entity, PlayerEntity player) {
+        int previousCount = ((GeneratorItem) entity).bedwars$getTrackedCount();
+        this.updateTrackedItem(entity);
+
+        int collected = previousCount - ((GeneratorItem) entity).bedwars$getTrackedCount();
+        if (collected > 0 && this.game != null) {
+            BwParticipant participant = this.game.getParticipant(player);
+            if (participant != null) {
+                this.game.economy.record(participant.team, entity.getStack().getItem(), ResourceFlow.COLLECTED, collected);
             }
         }
+    }
 
-        world.spawnEntity(itemEntity);
+    private int getItemCount() {
+        // items that despawned or were otherwise removed are dropped here, without needing to scan the world
+        List<ItemEntity> items = this.trackedItems;
+        for (int i = items.size() - 1; i >= 0; i--) {
+            ItemEntity entity = items.get(i);
+            if (entity.removed) {
+                this.updateTrackedItem(entity);
+                ((GeneratorItem) entity).bedwars$setGenerator(null);
+                items.remove(i);
+            }
+        }
+
+        return this.itemCount + this.storedCount;
     }
 
-    private boolean giveItems(ServerWorld world, BwActive game, ItemEntity entity) {
-        List<ServerPlayerEntity> players = world.getEntitiesByClass(ServerPlayerEntity.class, this.bounds.toBox(), game::isParticipant);
-        for (ServerPlayerEntity player : players) {
+    private boolean giveItems(BwActive game, ItemEntity entity) {
+        Box box = this.box;
+        ItemStack stack = entity.getStack();
+
+        // the spawn packet is the same for every recipient, so it is only built once
+        Packet<?> spawnPacket = null;
+        boolean found = false;
+
+        List<BwParticipant> participants = game.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            ServerPlayerEntity player = participants.get(i).player();
+            if (player == null || !box.intersects(player.getBoundingBox())) {
+                continue;
+            }
+
+            found = true;
+
             // Don't gen split to spectator or creative players
             if (player.abilities.allowFlying) {
                 continue;
             }
 
-            ItemStack stack = entity.getStack();
+            if (spawnPacket == null) {
+                spawnPacket = entity.createSpawnPacket();
+            }
 
-            player.giveItemStack(stack.copy());
-            player.networkHandler.sendPacket(entity.createSpawnPacket());
+            game.itemDelivery.give(player, stack);
+            game.economy.record(participants.get(i).team, stack.getItem(), ResourceFlow.COLLECTED, stack.getCount());
+            player.networkHandler.sendPacket(spawnPacket);
             player.networkHandler.sendPacket(new ItemPickupAnimationS2CPacket(entity.getEntityId(), player.getEntityId(), stack.getCount()));
-
-            player.inventory.markDirty();
         }
 
-        return !players.isEmpty();
+        return found;
     }
 }
@@ -2,15 +2,17 @@ package xyz.nucleoid.bedwars.game.active;
 
 import com.google.common.collect.Sets;
 import xyz.nucleoid.bedwars.game.BwMap;
-import xyz.nucleoid.bedwars.game.active.modifiers.BwGameTriggers;
+import xyz.nucleoid.bedwars.game.active.economy.BwEconomy;
+import xyz.nucleoid.bedwars.game.active.economy.ResourceFlow;
+import xyz.nucleoid.bedwars.game.active.event.BwEvents;
+import xyz.nucleoid.bedwars.game.active.event.PlayerDeathEvent;
 import xyz.nucleoid.bedwars.game.active.upgrade.UpgradeType;
-import xyz.nucleoid.plasmid.util.PlayerRef;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.EnderChestInventory;
+import net.minecraft.inventory.Inventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
@@ -18,9 +20,11 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.GameMode;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -39,35 +43,76 @@ public final class BwKillLogic {
     }
 
     public void onPlayerDeath(BwParticipant participant, ServerPlayerEntity player, DamageSource source) {
-        if (!this.game.config.keepInventory) {
-            this.applyDowngrades(participant);
-        }
-
         BwParticipant killerParticipant = this.getAttackerParticipant(participant, source);
         ServerPlayerEntity killerPlayer = killerParticipant != null ? killerParticipant.player() : null;
 
-        if (killerPlayer != null) {
-            this.transferResources(player, killerPlayer);
+        Collection<ItemStack> resources = resolveDeath(
+                this.game.economy, this.game.config.keepInventory,
+                participant, player.inventory,
+                killerPlayer != null ? killerParticipant : null
+        );
+        for (ItemStack resource : resources) {
+            killerPlayer.inventory.offerOrDrop(this.game.world, resource);
         }
 
         BwMap.TeamSpawn spawn = this.game.teamLogic.tryRespawn(participant);
         this.game.broadcast.broadcastDeath(player, killerPlayer, source, spawn == null);
 
-        // Run death modifiers
-        this.game.triggerModifiers(BwGameTriggers.PLAYER_DEATH);
+        PlayerDeathEvent event = new PlayerDeathEvent(
+                this.game.world.getTime(),
+                participant.ref, participant.team,
+                killerParticipant != null ? killerParticipant.ref : null,
+                killerParticipant != null ? killerParticipant.team : null
+        );
+        this.game.events.publish(BwEvents.PLAYER_DEATH, event);
 
         if (spawn != null) {
             this.game.playerLogic.respawnOnTimer(player, spawn);
         } else {
-            this.onFinalDeath(participant, player);
+            this.onFinalDeath(participant, player, event);
         }
     }
 
+    /**
+     * Applies the parts of a death that only change game state, so that they can also be driven without a world: the
+     * victim's tools are downgraded unless inventories are kept, and if there is a killer, the victim's resources are
+     * taken and recorded as stolen by the killer's team.
+     *
+     * @return the resources taken from the victim, which the caller gives to the killer
+     */
+    static Collection<ItemStack> resolveDeath(
+            BwEconomy economy, boolean keepInventory,
+            BwParticipant participant, Inventory inventory,
+            @Nullable BwParticipant killerParticipant
+    ) {
+        if (!keepInventory) {
+            applyDowngrades(participant);
+        }
+
+        if (killerParticipant == null) {
+            return Collections.emptyList();
+        }
+
+        Collection<ItemStack> resources = takeResources(inventory);
+        for (ItemStack resource : resources) {
+            economy.record(killerParticipant.team, resource.getItem(), ResourceFlow.STOLEN, resource.getCount());
+        }
+
+        return resources;
+    }
+
+    /**
+     * Eliminates a participant that died without being able to respawn, which may in turn eliminate their team.
+     */
+    static void resolveFinalDeath(BwWinStateLogic winStateLogic, BwParticipant participant) {
+        winStateLogic.eliminatePlayer(participant);
+    }
+
     private BwParticipant getAttackerParticipant(BwParticipant participant, DamageSource source) {
         BwParticipant attackerParticipant = null;
         Entity attacker = source.getAttacker();
         if (attacker instanceof ServerPlayerEntity) {
-            attackerParticipant = this.game.getParticipant(PlayerRef.of((PlayerEntity) attacker));
+            attackerParticipant = this.game.getParticipant((PlayerEntity) attacker);
         }
 
         if (attackerParticipant == null) {
@@ -80,23 +125,15 @@ public final class BwKillLogic {
         return attackerParticipant;
     }
 
-    private void applyDowngrades(BwParticipant participant) {
+    private static void applyDowngrades(BwParticipant participant) {
         participant.upgrades.tryDowngrade(UpgradeType.SWORD);
         participant.upgrades.tryDowngrade(UpgradeType.PICKAXE);
         participant.upgrades.tryDowngrade(UpgradeType.AXE);
     }
 
-    private void transferResources(ServerPlayerEntity player, ServerPlayerEntity killerPlayer) {
-        Collection<ItemStack> resources = this.takeResources(player);
-        for (ItemStack resource : resources) {
-            killerPlayer.inventory.offerOrDrop(this.game.world, resource);
-        }
-    }
-
-    private Collection<ItemStack> takeResources(ServerPlayerEntity fromPlayer) {
+    static Collection<ItemStack> takeResources(Inventory inventory) {
         List<ItemStack> resources = new ArrayList<>();
 
-        PlayerInventory inventory = fromPlayer.inventory;
         for (int slot = 0; slot < inventory.size(); slot++) {
             ItemStack stack = inventory.getStack(slot);
             if (RESOURCE_ITEMS.contains(stack.getItem())) {
@@ -110,16 +147,15 @@ public final class BwKillLogic {
         return resources;
     }
 
-    private void onFinalDeath(BwParticipant participant, ServerPlayerEntity player) {
+    private void onFinalDeath(BwParticipant participant, ServerPlayerEntity player, PlayerDeathEvent event) {
         this.dropEnderChest(player, participant);
 
         this.game.spawnLogic.resetPlayer(player, GameMode.SPECTATOR);
         this.game.spawnLogic.spawnAtCenter(player);
 
-        this.game.winStateLogic.eliminatePlayer(participant);
+        resolveFinalDeath(this.game.winStateLogic, participant);
 
-        // Run final death modifiers
-        this.game.triggerModifiers(BwGameTriggers.FINAL_DEATH);
+        this.game.events.publish(BwEvents.FINAL_DEATH, event);
     }
 
     private void dropEnderChest(ServerPlayerEntity player, BwParticipant participant) {
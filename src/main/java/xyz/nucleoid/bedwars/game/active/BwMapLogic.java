@@ -1,6 +1,7 @@
 package xyz.nucleoid.bedwars.game.active;
 
 import xyz.nucleoid.bedwars.game.BwMap;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.effect.StatusEffect;
 import net.minecraft.entity.effect.StatusEffectInstance;
@@ -19,30 +20,31 @@ public final class BwMapLogic {
         this.game = game;
     }
 
-    public void tick() {
-        ServerWorld world = this.game.world;
-
+    public void start() {
+        int index = 0;
         for (BwItemGenerator generator : this.game.map.getItemGenerators()) {
-            generator.tick(world, this.game);
+            generator.start(this.game, index++);
         }
 
-        if (world.getTime() % 20 == 0) {
-            this.game.teams().forEach(team -> {
-                if (team.trapSet) {
-                    if (this.tickTrap(team)) {
-                        this.game.broadcast.broadcastTrapSetOff(team);
-                        team.trapSet = false;
-                    }
-                }
+        this.game.scheduler.scheduleStaggered(20, TickPhase.MAP_LOGIC, this::tickTeams);
+    }
 
-                if (team.healPool) {
-                    this.tickHealPool(team);
+    private void tickTeams() {
+        for (BwActive.TeamState team : this.game.teams()) {
+            if (team.trapSet) {
+                if (this.tickTrap(team)) {
+                    this.game.broadcast.broadcastTrapSetOff(team);
+                    team.trapSet = false;
                 }
+            }
 
-                if (team.hasteEnabled) {
-                    this.tickTeamEffect(team, StatusEffects.HASTE, 1);
-                }
-            });
+            if (team.healPool) {
+                this.tickHealPool(team);
+            }
+
+            if (team.hasteEnabled) {
+                this.tickTeamEffect(team, StatusEffects.HASTE, 1);
+            }
         }
     }
 
@@ -92,13 +94,12 @@ public final class BwMapLogic {
     }
 
     private void tickTeamEffect(BwActive.TeamState teamState, StatusEffect effect, int amplifier) {
-        this.game.participantsFor(teamState.team).forEach(participant -> {
-            ServerPlayerEntity player = participant.player();
-            if (player == null) {
-                return;
+        List<BwParticipant> participants = teamState.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            ServerPlayerEntity player = participants.get(i).player();
+            if (player != null) {
+                player.addStatusEffect(new StatusEffectInstance(effect, 20 * 2, amplifier, false, false));
             }
-
-            player.addStatusEffect(new StatusEffectInstance(effect, 20 * 2, amplifier, false, false));
-        });
+        }
     }
 }
@@ -1,17 +1,16 @@
 package xyz.nucleoid.bedwars.game.active;
 
 import xyz.nucleoid.bedwars.game.BwMap;
+import xyz.nucleoid.bedwars.game.active.scheduler.ScheduledTask;
 import xyz.nucleoid.bedwars.game.active.upgrade.PlayerUpgrades;
 import xyz.nucleoid.bedwars.game.active.upgrade.UpgradeType;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.util.PlayerRef;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
 
 import org.jetbrains.annotations.Nullable;
 
 public final class BwParticipant {
-    private final ServerWorld world;
     public final PlayerRef ref;
     public final GameTeam team;
 
@@ -20,12 +19,20 @@ public final class BwParticipant {
     AttackRecord lastAttack;
 
     BwMap.TeamSpawn respawningAt;
-    long respawnTime = -1;
+    ScheduledTask respawnTask;
     boolean eliminated;
+    boolean online = true;
+
+    @Nullable
+    ServerPlayerEntity player;
 
     BwParticipant(BwActive game, ServerPlayerEntity player, GameTeam team) {
-        this.world = player.getServerWorld();
-        this.ref = PlayerRef.of(player);
+        this(game, PlayerRef.of(player), team);
+        this.player = player;
+    }
+
+    BwParticipant(BwActive game, PlayerRef ref, GameTeam team) {
+        this.ref = ref;
         this.team = team;
 
         this.upgrades = new PlayerUpgrades(game, this);
@@ -37,23 +44,30 @@ public final class BwParticipant {
         this.upgrades.add(UpgradeType.SHEARS);
     }
 
-    public void startRespawning(BwMap.TeamSpawn spawn) {
-        this.respawnTime = this.world.getTime() + BwActive.RESPAWN_TICKS;
+    public void startRespawning(BwMap.TeamSpawn spawn, ScheduledTask respawnTask) {
+        this.stopRespawning();
         this.respawningAt = spawn;
+        this.respawnTask = respawnTask;
     }
 
     public void stopRespawning() {
+        if (this.respawnTask != null) {
+            this.respawnTask.cancel();
+            this.respawnTask = null;
+        }
         this.respawningAt = null;
-        this.respawnTime = -1;
     }
 
     public boolean isRespawning() {
         return this.respawningAt != null;
     }
 
+    /**
+     * @return the entity of this participant while they are online in the game
+     */
     @Nullable
     public ServerPlayerEntity player() {
-        return this.ref.getEntity(this.world);
+        return this.player;
     }
 
     public boolean isAlive() {
@@ -61,6 +75,6 @@ public final class BwParticipant {
     }
 
     public boolean isOnline() {
-        return this.ref.isOnline(this.world);
+        return this.online;
     }
 }
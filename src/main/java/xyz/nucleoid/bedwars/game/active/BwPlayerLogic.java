@@ -2,6 +2,8 @@ package xyz.nucleoid.bedwars.game.active;
 
 import net.fabricmc.fabric.api.tool.attribute.v1.FabricToolTags;
 import xyz.nucleoid.bedwars.game.BwMap;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+import xyz.nucleoid.bedwars.game.active.scheduler.ScheduledTask;
 import xyz.nucleoid.plasmid.util.ItemUtil;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.enchantment.Enchantments;
@@ -15,28 +17,25 @@ import net.minecraft.text.LiteralText;
 import net.minecraft.util.Formatting;
 import net.minecraft.world.GameMode;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 public final class BwPlayerLogic {
     private final BwActive game;
 
-    private long lastEnchantmentCheck;
-
     BwPlayerLogic(BwActive game) {
         this.game = game;
     }
 
-    public void tick() {
-        long time = this.game.world.getTime();
-
-        this.game.participants().forEach(participant -> {
-            ServerPlayerEntity player = participant.player();
-            if (player == null) return;
+    public void start() {
+        this.game.scheduler.scheduleStaggered(20, TickPhase.PLAYER_LOGIC, this::applyAllEnchantments);
+    }
 
-            if (participant.isRespawning() && time >= participant.respawnTime) {
-                this.spawnPlayer(player, participant.respawningAt);
-                participant.stopRespawning();
-            }
+    public void tick() {
+        List<BwParticipant> participants = this.game.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            ServerPlayerEntity player = participants.get(i).player();
+            if (player == null) continue;
 
             // Instakill players when below y0
             if (player.getY() <= 0) {
@@ -46,17 +45,17 @@ public final class BwPlayerLogic {
                     player.kill();
                 }
             }
-        });
-
-        if (time - this.lastEnchantmentCheck > 20) {
-            this.game.participants().forEach(participant -> {
-                ServerPlayerEntity player = participant.player();
-                if (player != null) {
-                    this.applyEnchantments(player, participant);
-                }
-            });
+        }
+    }
 
-            this.lastEnchantmentCheck = time;
+    private void applyAllEnchantments() {
+        List<BwParticipant> participants = this.game.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            BwParticipant participant = participants.get(i);
+            ServerPlayerEntity player = participant.player();
+            if (player != null) {
+                this.applyEnchantments(player, participant);
+            }
         }
     }
 
@@ -117,8 +116,17 @@ public final class BwPlayerLogic {
 
         BwParticipant participant = this.game.getParticipant(player);
         if (participant != null) {
-            participant.startRespawning(spawn);
+            ScheduledTask respawnTask = this.game.scheduler.schedule(BwActive.RESPAWN_TICKS, () -> this.respawn(participant));
+            participant.startRespawning(spawn, respawnTask);
             player.sendMessage(new LiteralText("You will respawn in " + BwActive.RESPAWN_TIME_SECONDS + " seconds..").formatted(Formatting.BOLD), false);
         }
     }
+
+    private void respawn(BwParticipant participant) {
+        ServerPlayerEntity player = participant.player();
+        if (player != null && participant.isRespawning()) {
+            this.spawnPlayer(player, participant.respawningAt);
+            participant.stopRespawning();
+        }
+    }
 }
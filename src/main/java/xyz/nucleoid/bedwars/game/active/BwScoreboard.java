@@ -9,12 +9,16 @@ import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import org.apache.commons.lang3.RandomStringUtils;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.widget.GlobalWidgets;
 import xyz.nucleoid.plasmid.widget.SidebarWidget;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public final class BwScoreboard implements AutoCloseable {
     private final BwActive game;
@@ -35,19 +39,23 @@ public final class BwScoreboard implements AutoCloseable {
         return new BwScoreboard(game, sidebar);
     }
 
-    public void tick() {
-        if (this.ticks++ % 20 == 0) {
-            this.render();
-        }
+    public void start() {
+        this.game.scheduler.scheduleStaggered(20, TickPhase.SCOREBOARD, this::tick);
     }
 
-    public void addTeam(GameTeam team) {
-        this.game.participantsFor(team).forEach(participant -> {
-            ServerPlayerEntity player = participant.player();
-            if (player == null) return;
+    private void tick() {
+        this.render();
+        this.ticks += 20;
+    }
 
-            this.addPlayer(player, team);
-        });
+    public void addTeam(GameTeam team) {
+        List<BwParticipant> participants = this.game.participantsFor(team);
+        for (int i = 0; i < participants.size(); i++) {
+            ServerPlayerEntity player = participants.get(i).player();
+            if (player != null) {
+                this.addPlayer(player, team);
+            }
+        }
     }
 
     private void addPlayer(ServerPlayerEntity player, GameTeam team) {
@@ -75,45 +83,51 @@ public final class BwScoreboard implements AutoCloseable {
     }
 
     private void render() {
-        this.sidebar.set(content -> {
-            long seconds = (this.ticks / 20) % 60;
-            long minutes = this.ticks / (20 * 60);
-
-            content.writeLine(String.format("%sTime: %s%02d:%02d", Formatting.RED.toString() + Formatting.BOLD, Formatting.RESET, minutes, seconds));
-
-            long playersAlive = this.game.participants()
-                    .filter(BwParticipant::isAlive)
-                    .count();
-            content.writeLine(Formatting.BLUE.toString() + playersAlive + " players alive");
-            content.writeLine("");
-
-            content.writeLine(Formatting.BOLD + "Teams:");
-            this.game.teams().forEach(teamState -> {
-                long totalPlayerCount = this.game.participantsFor(teamState.team).count();
-                long alivePlayerCount = this.game.participantsFor(teamState.team)
-                        .filter(BwParticipant::isAlive)
-                        .count();
-
-                if (!teamState.eliminated) {
-                    String state = alivePlayerCount + "/" + totalPlayerCount;
-                    if (!teamState.hasBed) {
-                        state += " (no bed)";
-                    }
-
-                    String nameFormat = teamState.team.getFormatting().toString() + Formatting.BOLD.toString();
-                    String descriptionFormat = Formatting.RESET.toString() + Formatting.GRAY.toString();
-
-                    String name = teamState.team.getDisplay();
-                    content.writeLine("  " + nameFormat + name + ": " + descriptionFormat + state);
-                } else {
-                    String nameFormat = teamState.team.getFormatting().toString() + Formatting.BOLD.toString() + Formatting.STRIKETHROUGH.toString();
-                    String descriptionFormat = Formatting.RESET.toString() + Formatting.RED.toString();
-
-                    String name = teamState.team.getDisplay();
-                    content.writeLine("  " + nameFormat + name + descriptionFormat + ": eliminated!");
+        this.sidebar.set(content -> writeContent(this.ticks, this.game.teams(), content::writeLine));
+    }
+
+    /**
+     * Builds the sidebar lines for the given elapsed time and team states. This is kept separate from the widget so
+     * that the content can be built without a running game.
+     */
+    static void writeContent(long ticks, Collection<BwActive.TeamState> teams, Consumer<String> lines) {
+        long seconds = (ticks / 20) % 60;
+        long minutes = ticks / (20 * 60);
+
+        lines.accept(String.format("%sTime: %s%02d:%02d", Formatting.RED.toString() + Formatting.BOLD, Formatting.RESET, minutes, seconds));
+
+        int playersAlive = 0;
+        for (BwActive.TeamState teamState : teams) {
+            playersAlive += teamState.getAliveCount();
+        }
+
+        lines.accept(Formatting.BLUE.toString() + playersAlive + " players alive");
+        lines.accept("");
+
+        lines.accept(Formatting.BOLD + "Teams:");
+        for (BwActive.TeamState teamState : teams) {
+            int totalPlayerCount = teamState.getParticipantCount();
+            int alivePlayerCount = teamState.getAliveCount();
+
+            if (!teamState.eliminated) {
+                String state = alivePlayerCount + "/" + totalPlayerCount;
+                if (!teamState.hasBed) {
+                    state += " (no bed)";
                 }
-            });
-        });
+
+                String nameFormat = teamState.team.getFormatting().toString() + Formatting.BOLD.toString();
+                String descriptionFormat = Formatting.RESET.toString() + Formatting.GRAY.toString();
+
+                String name = teamState.team.getDisplay();
+                lines.accept("  " + nameFormat + name + ": " + descriptionFormat + state);
+            } else {
+                String nameFormat = teamState.team.getFormatting().toString() + Formatting.BOLD.toString() + Formatting.STRIKETHROUGH.toString();
+                String descriptionFormat = Formatting.RESET.toString() + Formatting.RED.toString();
+
+                String name = teamState.team.getDisplay();
+                lines.accept("  " + nameFormat + name + descriptionFormat + ": eliminated!");
+            }
+        }
     }
 
     private static String generateTeamKey() {
@@ -1,16 +1,21 @@
 package xyz.nucleoid.bedwars.game.active;
 
 import xyz.nucleoid.bedwars.game.BwMap;
-import xyz.nucleoid.bedwars.game.active.modifiers.BwGameTriggers;
+import xyz.nucleoid.bedwars.game.active.event.BedBrokenEvent;
+import xyz.nucleoid.bedwars.game.active.event.BwEvents;
+import xyz.nucleoid.bedwars.game.active.event.TeamUpgradeEvent;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 import net.minecraft.block.Blocks;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public final class BwTeamLogic {
     private final BwActive game;
 
@@ -19,12 +24,21 @@ public final class BwTeamLogic {
     }
 
     public void applyEnchantments(GameTeam team) {
-        this.game.participantsFor(team).forEach(participant -> {
+        List<BwParticipant> participants = this.game.participantsFor(team);
+        for (int i = 0; i < participants.size(); i++) {
+            BwParticipant participant = participants.get(i);
             ServerPlayerEntity player = participant.player();
             if (player != null) {
                 this.game.playerLogic.applyEnchantments(player, participant);
             }
-        });
+        }
+    }
+
+    public void onTeamUpgrade(BwParticipant participant, Text message) {
+        this.game.broadcast.broadcastTeamUpgrade(participant, message);
+
+        TeamUpgradeEvent event = new TeamUpgradeEvent(this.game.world.getTime(), participant.ref, participant.team, message.getString());
+        this.game.events.publish(BwEvents.TEAM_UPGRADE, event);
     }
 
     public boolean canRespawn(BwParticipant participant) {
@@ -56,10 +70,14 @@ public final class BwTeamLogic {
 
         this.game.broadcast.broadcastBedBroken(player, bed.team, destroyerTeam);
 
-        this.removeBed(bed.team);
+        this.removeBed(bed.team, destroyerTeam);
     }
 
     public void removeBed(GameTeam team) {
+        this.removeBed(team, null);
+    }
+
+    private void removeBed(GameTeam team, @Nullable GameTeam destroyerTeam) {
         BwActive.TeamState teamState = this.game.getTeam(team);
         if (teamState == null || !teamState.hasBed) {
             return;
@@ -74,19 +92,16 @@ public final class BwTeamLogic {
             world.setBlockState(p, Blocks.AIR.getDefaultState(), 0b100010);
         });
 
-        this.game.triggerModifiers(BwGameTriggers.BED_BROKEN);
+        this.game.events.publish(BwEvents.BED_BROKEN, new BedBrokenEvent(world.getTime(), team, destroyerTeam));
     }
 
     @Nullable
     private Bed findBed(BlockPos pos) {
-        for (GameTeam team : this.game.config.teams) {
-            BwMap.TeamRegions teamRegions = this.game.map.getTeamRegions(team);
-            BlockBounds bed = teamRegions.bed;
-            if (bed != null && bed.contains(pos)) {
-                return new Bed(team, bed);
-            }
+        GameTeam team = this.game.map.getBedTeamAt(pos);
+        if (team == null) {
+            return null;
         }
-        return null;
+        return new Bed(team, this.game.map.getTeamRegions(team).bed);
     }
 
     private static class Bed {
@@ -0,0 +1,94 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import net.minecraft.server.MinecraftServer;
+import xyz.nucleoid.bedwars.game.BwTickBudgetConfig;
+import xyz.nucleoid.bedwars.game.active.scheduler.BwScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thins out cosmetic work while the server is falling behind. Gameplay-critical logic never asks the governor;
+ * cosmetic work such as particles, floating text updates, fireworks and cosmetic lightning calls
+ * {@link #allowCosmetic(Cosmetic)} before running.
+ * <p>
+ * Each degradation level halves the share of cosmetic work that is allowed to run, until at {@link #MAX_LEVEL} it is
+ * skipped entirely. Every kind of work is thinned on its own counter, so that one kind calling often cannot take the
+ * turns of another. The level is re-evaluated once a second against the server's average tick time.
+ */
+public final class BwTickGovernor {
+    public static final int MAX_LEVEL = 3;
+
+    private final MinecraftServer server;
+    private final BwTickBudgetConfig config;
+
+    private int level;
+    private final int[] cosmeticCounters = new int[Cosmetic.VALUES.length];
+
+    private long allowed;
+    private long skipped;
+
+    BwTickGovernor(MinecraftServer server, BwTickBudgetConfig config) {
+        this.server = server;
+        this.config = config;
+    }
+
+    public void start(BwScheduler scheduler) {
+        if (this.config.enabled) {
+            scheduler.scheduleRepeating(20, 20, this::update);
+        }
+    }
+
+    private void update() {
+        float tickTime = this.server.getTickTime();
+        if (tickTime > this.config.budgetMs) {
+            this.level = Math.min(this.level + 1, MAX_LEVEL);
+        } else if (tickTime < this.config.recoveryMs) {
+            this.level = Math.max(this.level - 1, 0);
+        }
+    }
+
+    /**
+     * @return whether a unit of the given kind of cosmetic work should run now
+     */
+    public boolean allowCosmetic(Cosmetic kind) {
+        int level = this.level;
+        if (level == 0) {
+            this.allowed++;
+            return true;
+        }
+
+        if (level < MAX_LEVEL) {
+            int mask = (1 << level) - 1;
+            if ((this.cosmeticCounters[kind.ordinal()]++ & mask) == 0) {
+                this.allowed++;
+                return true;
+            }
+        }
+
+        this.skipped++;
+        return false;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(
+                "governor: level %d/%d at %.1fms (budget %.1fms), cosmetic work %d run, %d skipped",
+                this.level, MAX_LEVEL, this.server.getTickTime(), this.config.budgetMs, this.allowed, this.skipped
+        ));
+        return lines;
+    }
+
+    public enum Cosmetic {
+        FIREWORKS,
+        LIGHTNING,
+        FLOATING_TEXT,
+        PARTICLES;
+
+        static final Cosmetic[] VALUES = values();
+    }
+}
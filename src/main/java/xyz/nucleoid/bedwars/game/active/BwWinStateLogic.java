@@ -3,79 +3,139 @@ package xyz.nucleoid.bedwars.game.active;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 
 import org.jetbrains.annotations.Nullable;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Tracks team elimination through the alive counters kept in {@link BwActive.TeamState}. The counters are updated
+ * as participants leave, rejoin or are eliminated, and the win condition is only evaluated when a team is eliminated.
+ * <p>
+ * Teams are read through a {@link Host} rather than the game itself, so that this logic does not need a world.
+ */
 public final class BwWinStateLogic {
-    private final BwActive game;
+    private final Host host;
 
-    BwWinStateLogic(BwActive game) {
-        this.game = game;
+    private int eliminatedTeamCount;
+
+    BwWinStateLogic(Host host) {
+        this.host = host;
     }
 
     @Nullable
     public WinResult checkWinResult() {
-        this.checkEliminatedTeams();
-
         // if there's only one team, disable the win state
-        if (this.game.getTeamCount() <= 1) {
+        int teamCount = this.host.getTeamCount();
+        if (teamCount <= 1) {
             return null;
         }
 
-        List<BwActive.TeamState> remainingTeams = this.game.teams()
-                .filter(team -> !team.eliminated)
-                .collect(Collectors.toList());
+        int remainingTeams = teamCount - this.eliminatedTeamCount;
+        if (remainingTeams > 1) {
+            return null;
+        }
 
-        if (remainingTeams.size() <= 1) {
-            if (remainingTeams.size() == 1) {
-                BwActive.TeamState winningTeam = remainingTeams.get(0);
-                return WinResult.team(winningTeam.team);
-            } else {
-                return WinResult.draw();
+        if (remainingTeams == 1) {
+            for (BwActive.TeamState team : this.host.teams()) {
+                if (!team.eliminated) {
+                    return WinResult.team(team.team);
+                }
             }
         }
 
-        return null;
+        return WinResult.draw();
     }
 
-    private void checkEliminatedTeams() {
-        Stream<BwActive.TeamState> eliminatedTeams = this.game.teams()
-                .filter(team -> !team.eliminated)
-                .filter(team -> {
-                    long remainingCount = this.countRemainingPlayers(team.team);
-                    return remainingCount <= 0;
-                });
+    public void onPlayerLeave(BwParticipant participant) {
+        if (!participant.online) {
+            return;
+        }
 
-        eliminatedTeams.forEach(this::eliminateTeam);
+        participant.online = false;
+
+        BwActive.TeamState teamState = this.host.getTeam(participant.team);
+        if (teamState != null) {
+            teamState.onlineCount--;
+            if (!participant.eliminated) {
+                teamState.aliveCount--;
+            }
+
+            this.updateTeam(teamState);
+        }
     }
 
-    public void eliminatePlayer(BwParticipant participant) {
-        participant.eliminated = true;
+    public void onPlayerRejoin(BwParticipant participant) {
+        if (participant.online) {
+            return;
+        }
+
+        participant.online = true;
 
-        BwActive.TeamState teamState = this.game.getTeam(participant.team);
-        if (teamState != null && !teamState.eliminated) {
-            long remainingCount = this.countRemainingPlayers(participant.team);
-            if (remainingCount <= 0) {
-                this.eliminateTeam(teamState);
+        BwActive.TeamState teamState = this.host.getTeam(participant.team);
+        if (teamState != null) {
+            teamState.onlineCount++;
+            if (!participant.eliminated) {
+                teamState.aliveCount++;
             }
         }
     }
 
-    private long countRemainingPlayers(GameTeam team) {
-        return this.game.participantsFor(team)
-                .filter(BwParticipant::isAlive)
-                .count();
+    public void eliminatePlayer(BwParticipant participant) {
+        BwActive.TeamState teamState = this.host.getTeam(participant.team);
+        if (teamState == null) {
+            participant.eliminated = true;
+            return;
+        }
+
+        this.markEliminated(teamState, participant);
+        this.updateTeam(teamState);
+    }
+
+    private void markEliminated(BwActive.TeamState teamState, BwParticipant participant) {
+        if (participant.eliminated) {
+            return;
+        }
+
+        participant.eliminated = true;
+        teamState.eliminatedCount++;
+        if (participant.online) {
+            teamState.aliveCount--;
+        }
+    }
+
+    private void updateTeam(BwActive.TeamState teamState) {
+        if (!teamState.eliminated && teamState.aliveCount <= 0) {
+            this.eliminateTeam(teamState);
+        }
     }
 
     private void eliminateTeam(BwActive.TeamState teamState) {
         teamState.eliminated = true;
+        this.eliminatedTeamCount++;
 
-        this.game.participantsFor(teamState.team).forEach(participant -> {
-            participant.eliminated = true;
-        });
+        List<BwParticipant> participants = teamState.participants();
+        for (int i = 0; i < participants.size(); i++) {
+            this.markEliminated(teamState, participants.get(i));
+        }
+
+        this.host.onTeamEliminated(teamState);
+    }
+
+    /**
+     * The teams of a game, and what happens once one of them is eliminated.
+     */
+    public interface Host {
+        int getTeamCount();
+
+        Collection<BwActive.TeamState> teams();
+
+        @Nullable
+        BwActive.TeamState getTeam(GameTeam team);
 
-        this.game.broadcast.broadcastTeamEliminated(teamState.team);
+        /**
+         * Called after every participant of the given team has been marked as eliminated, which is when the win
+         * condition should be checked again.
+         */
+        void onTeamEliminated(BwActive.TeamState teamState);
     }
 
     public static class WinResult {
@@ -0,0 +1,43 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implemented on {@link ItemEntity} by mixin, to link item entities back to the generator that spawned them. The
+ * generator is told whenever the stack of one of its items changes through a pickup or merge.
+ */
+public interface GeneratorItem {
+    @Nullable
+    BwItemGenerator bedwars$getGenerator();
+
+    void bedwars$setGenerator(@Nullable BwItemGenerator generator);
+
+    /**
+     * @return the count last reported to the owning generator
+     */
+    int bedwars$getTrackedCount();
+
+    void bedwars$setTrackedCount(int count);
+
+    /**
+     * Applies a merge of a newly spawned item into this one, as vanilla merging does: the age is reset to that of the
+     * new item, and the pickup delay is raised to the new item's if it is longer.
+     */
+    void bedwars$onMerged(int pickupDelay);
+
+    static void update(ItemEntity entity) {
+        BwItemGenerator generator = ((GeneratorItem) entity).bedwars$getGenerator();
+        if (generator != null) {
+            generator.updateTrackedItem(entity);
+        }
+    }
+
+    static void collect(ItemEntity entity, PlayerEntity player) {
+        BwItemGenerator generator = ((GeneratorItem) entity).bedwars$getGenerator();
+        if (generator != null) {
+            generator.collectTrackedItem(entity, player);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package xyz.nucleoid.bedwars.game.active;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
-import net.minecraft.util.collection.WeightedList;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 public final class ItemGeneratorPool {
@@ -34,11 +38,16 @@ public final class ItemGeneratorPool {
             .add(new ItemStack(Items.EMERALD, 1), 1)
             .spawnInterval(20 * 90);
 
-    private final WeightedList<ItemStack> pool = new WeightedList<>();
+    private final List<ItemStack> stacks = new ArrayList<>();
+    private final IntList weights = new IntArrayList();
     private long spawnInterval = 10;
 
+    private AliasTable table;
+
     public ItemGeneratorPool add(ItemStack stack, int weight) {
-        this.pool.add(stack, weight);
+        this.stacks.add(stack);
+        this.weights.add(weight);
+        this.table = null;
         return this;
     }
 
@@ -48,10 +57,120 @@ public final class ItemGeneratorPool {
     }
 
     public ItemStack sample(Random random) {
-        return this.pool.pickRandom(random).copy();
+        return this.createStack(this.sampleEntry(random));
+    }
+
+    /**
+     * Picks an entry from this pool in constant time, without creating a stack. The entry can then be resolved through
+     * {@link #getItem(int)} and {@link #getCount(int)}, or turned into a stack with {@link #createStack(int)} once one
+     * is actually needed.
+     */
+    public int sampleEntry(Random random) {
+        AliasTable table = this.table;
+        if (table == null) {
+            this.table = table = AliasTable.build(this.weights);
+        }
+        return table.sample(random);
+    }
+
+    public Item getItem(int entry) {
+        return this.stacks.get(entry).getItem();
+    }
+
+    public int getCount(int entry) {
+        return this.stacks.get(entry).getCount();
+    }
+
+    /**
+     * @return the stack this entry was added with, which must not be modified
+     */
+    public ItemStack getStack(int entry) {
+        return this.stacks.get(entry);
+    }
+
+    public ItemStack createStack(int entry) {
+        return this.stacks.get(entry).copy();
     }
 
     public long getSpawnInterval() {
         return this.spawnInterval;
     }
+
+    /**
+     * Walker's alias table: each column holds a probability of keeping its own entry and an alias to use otherwise,
+     * so that sampling takes one random column and one random threshold regardless of how many entries there are.
+     */
+    static final class AliasTable {
+        private final float[] probability;
+        private final int[] alias;
+
+        private AliasTable(float[] probability, int[] alias) {
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        static AliasTable build(IntList weights) {
+            int size = weights.size();
+            if (size == 0) {
+                throw new IllegalStateException("cannot sample from an empty pool");
+            }
+
+            long totalWeight = 0;
+            for (int i = 0; i < size; i++) {
+                totalWeight += weights.getInt(i);
+            }
+
+            double[] scaled = new double[size];
+            for (int i = 0; i < size; i++) {
+                scaled[i] = (double) weights.getInt(i) * size / totalWeight;
+            }
+
+            float[] probability = new float[size];
+            int[] alias = new int[size];
+
+            IntArrayList small = new IntArrayList();
+            IntArrayList large = new IntArrayList();
+            for (int i = 0; i < size; i++) {
+                if (scaled[i] < 1.0) {
+                    small.add(i);
+                } else {
+                    large.add(i);
+                }
+            }
+
+            while (!small.isEmpty() && !large.isEmpty()) {
+                int less = small.popInt();
+                int more = large.popInt();
+
+                probability[less] = (float) scaled[less];
+                alias[less] = more;
+
+                scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+                if (scaled[more] < 1.0) {
+                    small.add(more);
+                } else {
+                    large.add(more);
+                }
+            }
+
+            // whatever remains is 1 up to rounding error
+            while (!large.isEmpty()) {
+                int index = large.popInt();
+                probability[index] = 1.0F;
+                alias[index] = index;
+            }
+            while (!small.isEmpty()) {
+                int index = small.popInt();
+                probability[index] = 1.0F;
+                alias[index] = index;
+            }
+
+            return new AliasTable(probability, alias);
+        }
+
+        int sample(Random random) {
+            int column = random.nextInt(this.probability.length);
+            return random.nextFloat() < this.probability[column] ? column : this.alias[column];
+        }
+    }
 }
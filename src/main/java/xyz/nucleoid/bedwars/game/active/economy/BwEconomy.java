@@ -0,0 +1,224 @@
+package xyz.nucleoid.bedwars.game.active.economy;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.item.Item;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts resources produced by generators, collected by players, stolen on kills and spent in shops, per team and per
+ * minute of the game. Resources from neutral generators, or from players without a team, are counted on a separate
+ * neutral row.
+ * <p>
+ * Counters live in flat primitive arrays indexed by team, resource and flow, so recording never allocates outside of
+ * the array growing once every {@link #INITIAL_MINUTES} minutes.
+ */
+public final class BwEconomy {
+    public static final int MINUTE_TICKS = 20 * 60;
+
+    private static final int INITIAL_MINUTES = 32;
+
+    private static final int RESOURCES = BwResource.VALUES.length;
+    private static final int FLOWS = ResourceFlow.VALUES.length;
+
+    private final String source;
+    private final LongSupplier clock;
+    private final String[] teamNames;
+    private final Object2IntOpenHashMap<GameTeam> teamIndex = new Object2IntOpenHashMap<>();
+    private final int neutralIndex;
+    private final int stride;
+
+    private final long[] totals;
+    private int[] minutes;
+    private int minuteCount;
+
+    private long startTime = -1;
+
+    public BwEconomy(ServerWorld world, List<GameTeam> teams) {
+        this(world.getRegistryKey().getValue().toString(), world::getTime, teams);
+    }
+
+    /**
+     * @param source names the game in exports
+     * @param clock the game time in ticks, which groups counters into minutes
+     */
+    public BwEconomy(String source, LongSupplier clock, List<GameTeam> teams) {
+        this.source = source;
+        this.clock = clock;
+
+        this.neutralIndex = teams.size();
+        this.teamIndex.defaultReturnValue(this.neutralIndex);
+
+        this.teamNames = new String[teams.size() + 1];
+        for (int i = 0; i < teams.size(); i++) {
+            GameTeam team = teams.get(i);
+            this.teamIndex.put(team, i);
+            this.teamNames[i] = team.getKey();
+        }
+        this.teamNames[this.neutralIndex] = "neutral";
+
+        this.stride = this.teamNames.length * RESOURCES * FLOWS;
+        this.totals = new long[this.stride];
+        this.minutes = new int[this.stride * INITIAL_MINUTES];
+    }
+
+    public void start(long time) {
+        this.startTime = time;
+    }
+
+    /**
+     * Records the given item stack count if the item is one of the game's resources, and ignores it otherwise.
+     */
+    public void record(@Nullable GameTeam team, Item item, ResourceFlow flow, int amount) {
+        BwResource resource = BwResource.byItem(item);
+        if (resource != null) {
+            this.record(team, resource, flow, amount);
+        }
+    }
+
+    public void recordSpent(@Nullable GameTeam team, Price price) {
+        BwResource resource = price.getResource();
+        if (resource != null) {
+            this.record(team, resource, ResourceFlow.SPENT, price.getAmount());
+        }
+    }
+
+    public void record(@Nullable GameTeam team, BwResource resource, ResourceFlow flow, int amount) {
+        if (amount <= 0 || this.startTime < 0) {
+            return;
+        }
+
+        int teamIndex = team != null ? this.teamIndex.getInt(team) : this.neutralIndex;
+        int index = this.index(teamIndex, resource, flow);
+
+        int minute = (int) ((this.clock.getAsLong() - this.startTime) / MINUTE_TICKS);
+        this.ensureMinute(minute);
+
+        this.totals[index] += amount;
+        this.minutes[minute * this.stride + index] += amount;
+    }
+
+    private int index(int team, BwResource resource, ResourceFlow flow) {
+        return (team * RESOURCES + resource.ordinal()) * FLOWS + flow.ordinal();
+    }
+
+    private void ensureMinute(int minute) {
+        if (minute >= this.minuteCount) {
+            int required = (minute + 1) * this.stride;
+            if (required > this.minutes.length) {
+                this.minutes = Arrays.copyOf(this.minutes, Math.max(required, this.minutes.length * 2));
+            }
+            this.minuteCount = minute + 1;
+        }
+    }
+
+    public long getTotal(@Nullable GameTeam team, BwResource resource, ResourceFlow flow) {
+        int teamIndex = team != null ? this.teamIndex.getInt(team) : this.neutralIndex;
+        return this.totals[this.index(teamIndex, resource, flow)];
+    }
+
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("economy over %d minutes (produced/collected/stolen/spent):", this.minuteCount));
+
+        StringBuilder line = new StringBuilder();
+        for (int team = 0; team < this.teamNames.length; team++) {
+            line.setLength(0);
+            line.append("  ").append(this.teamNames[team]).append(':');
+            for (BwResource resource : BwResource.VALUES) {
+                line.append(' ').append(resource.getName());
+                for (ResourceFlow flow : ResourceFlow.VALUES) {
+                    line.append(flow == ResourceFlow.PRODUCED ? ' ' : '/');
+                    line.append(this.totals[this.index(team, resource, flow)]);
+                }
+            }
+            lines.add(line.toString());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Writes the per-minute counters to a CSV file on the IO worker, from a copy taken on the calling thread. The file
+     * is named after the game's world and never replaces an existing export.
+     */
+    public void export() {
+        String source = this.source;
+        int[] minutes = Arrays.copyOf(this.minutes, this.minuteCount * this.stride);
+        int minuteCount = this.minuteCount;
+
+        Util.getIoWorkerExecutor().execute(() -> {
+            try {
+                Path path = this.write(source, minutes, minuteCount);
+                BedWars.LOGGER.info("Exported BedWars economy to {}", path);
+            } catch (IOException e) {
+                BedWars.LOGGER.error("Failed to export BedWars economy", e);
+            }
+        });
+    }
+
+    private Path write(String source, int[] minutes, int minuteCount) throws IOException {
+        Path directory = FabricLoader.getInstance().getGameDir().resolve("bedwars").resolve("economy");
+        Files.createDirectories(directory);
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        String name = "economy-" + timestamp + "-" + source.replaceAll("[^a-zA-Z0-9_.-]", "_");
+
+        Path path = directory.resolve(name + ".csv");
+        for (int suffix = 1; ; suffix++) {
+            try {
+                this.writeTo(path, source, minutes, minuteCount);
+                return path;
+            } catch (FileAlreadyExistsException e) {
+                path = directory.resolve(name + "-" + suffix + ".csv");
+            }
+        }
+    }
+
+    private void writeTo(Path path, String source, int[] minutes, int minuteCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writer.write("# BedWars economy for " + source);
+            writer.newLine();
+
+            writer.write("minute,team,resource");
+            for (ResourceFlow flow : ResourceFlow.VALUES) {
+                writer.write(',');
+                writer.write(flow.getName());
+            }
+            writer.newLine();
+
+            for (int minute = 0; minute < minuteCount; minute++) {
+                for (int team = 0; team < this.teamNames.length; team++) {
+                    for (BwResource resource : BwResource.VALUES) {
+                        int base = minute * this.stride + this.index(team, resource, ResourceFlow.PRODUCED);
+
+                        writer.write(minute + "," + this.teamNames[team] + "," + resource.getName());
+                        for (int flow = 0; flow < FLOWS; flow++) {
+                            writer.write(',');
+                            writer.write(Integer.toString(minutes[base + flow]));
+                        }
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package xyz.nucleoid.bedwars.game.active.economy;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.shop.Cost;
+
+public enum BwResource {
+    IRON("iron", Items.IRON_INGOT),
+    GOLD("gold", Items.GOLD_INGOT),
+    DIAMOND("diamond", Items.DIAMOND),
+    EMERALD("emerald", Items.EMERALD);
+
+    public static final BwResource[] VALUES = values();
+
+    private final String name;
+    private final Item item;
+
+    BwResource(String name, Item item) {
+        this.name = name;
+        this.item = item;
+    }
+
+    @Nullable
+    public static BwResource byItem(Item item) {
+        if (item == Items.IRON_INGOT) {
+            return IRON;
+        } else if (item == Items.GOLD_INGOT) {
+            return GOLD;
+        } else if (item == Items.DIAMOND) {
+            return DIAMOND;
+        } else if (item == Items.EMERALD) {
+            return EMERALD;
+        }
+        return null;
+    }
+
+    public Cost cost(int amount) {
+        switch (this) {
+            case IRON: return Cost.ofIron(amount);
+            case GOLD: return Cost.ofGold(amount);
+            case DIAMOND: return Cost.ofDiamonds(amount);
+            default: return Cost.ofEmeralds(amount);
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Item getItem() {
+        return this.item;
+    }
+}
@@ -0,0 +1,84 @@
+package xyz.nucleoid.bedwars.game.active.economy;
+
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.shop.Cost;
+
+/**
+ * A shop price in a single resource. Unlike a {@link Cost}, the resource and amount can be read back, so that
+ * purchases can be recorded in the game's {@link BwEconomy}.
+ */
+public final class Price {
+    private static final Price NO = new Price(null, 0);
+
+    @Nullable
+    private final BwResource resource;
+    private final int amount;
+
+    private Price(@Nullable BwResource resource, int amount) {
+        this.resource = resource;
+        this.amount = amount;
+    }
+
+    /**
+     * @return a price that can never be paid, for entries that are not available
+     */
+    public static Price no() {
+        return NO;
+    }
+
+    public static Price ofIron(int amount) {
+        return new Price(BwResource.IRON, amount);
+    }
+
+    public static Price ofGold(int amount) {
+        return new Price(BwResource.GOLD, amount);
+    }
+
+    public static Price ofDiamonds(int amount) {
+        return new Price(BwResource.DIAMOND, amount);
+    }
+
+    public static Price ofEmeralds(int amount) {
+        return new Price(BwResource.EMERALD, amount);
+    }
+
+    public Cost toCost() {
+        return this.resource != null ? this.resource.cost(this.amount) : Cost.no();
+    }
+
+    /**
+     * Takes this price out of the given inventory, as paying the matching {@link Cost} in a shop would.
+     *
+     * @return whether the inventory held enough to pay, in which case it has been paid
+     */
+    public boolean takeFrom(Inventory inventory) {
+        if (this.resource == null) {
+            return false;
+        }
+
+        Item item = this.resource.getItem();
+        if (inventory.count(item) < this.amount) {
+            return false;
+        }
+
+        int remaining = this.amount;
+        for (int slot = 0; slot < inventory.size() && remaining > 0; slot++) {
+            if (inventory.getStack(slot).getItem() == item) {
+                remaining -= inventory.removeStack(slot, remaining).getCount();
+            }
+        }
+
+        return true;
+    }
+
+    @Nullable
+    public BwResource getResource() {
+        return this.resource;
+    }
+
+    public int getAmount() {
+        return this.amount;
+    }
+}
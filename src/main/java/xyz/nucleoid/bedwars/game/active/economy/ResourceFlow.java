@@ -0,0 +1,20 @@
+package xyz.nucleoid.bedwars.game.active.economy;
+
+public enum ResourceFlow {
+    PRODUCED("produced"),
+    COLLECTED("collected"),
+    STOLEN("stolen"),
+    SPENT("spent");
+
+    public static final ResourceFlow[] VALUES = values();
+
+    private final String name;
+
+    ResourceFlow(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+}
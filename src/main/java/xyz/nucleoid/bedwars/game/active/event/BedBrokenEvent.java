@@ -0,0 +1,25 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+
+public final class BedBrokenEvent {
+    public final long time;
+    public final GameTeam team;
+    /**
+     * The team that broke the bed, or {@code null} if it was removed by the game
+     */
+    @Nullable
+    public final GameTeam destroyerTeam;
+
+    public BedBrokenEvent(long time, GameTeam team, @Nullable GameTeam destroyerTeam) {
+        this.time = time;
+        this.team = team;
+        this.destroyerTeam = destroyerTeam;
+    }
+
+    @Override
+    public String toString() {
+        return this.team.getKey() + " bed broken by " + (this.destroyerTeam != null ? this.destroyerTeam.getKey() : "the game");
+    }
+}
@@ -0,0 +1,163 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import xyz.nucleoid.bedwars.BedWars;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches typed BedWars events. Listeners registered with {@link #on} run on the server thread as the event is
+ * published, and are kept in a flat array per event type. Consumers registered with {@link #subscribeAsync} are
+ * instead fed from a bounded ring buffer that a background thread drains, so that stats and logging never add to the
+ * tick time; if they fall too far behind, events are dropped and counted rather than blocking the game.
+ * <p>
+ * Events must only be published from the server thread.
+ */
+public final class BwEventBus implements AutoCloseable {
+    private static final int RING_CAPACITY = 1024;
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+
+    private final String name;
+
+    private Consumer<?>[][] listeners = new Consumer<?>[0][];
+    private volatile Consumer<?>[][] asyncListeners = new Consumer<?>[0][];
+
+    private final BwEventRing ring = new BwEventRing(RING_CAPACITY);
+    private Thread drainer;
+    private volatile boolean running;
+
+    private long published;
+    private long dropped;
+    private final AtomicLong drained = new AtomicLong();
+
+    public BwEventBus(String name) {
+        this.name = name;
+    }
+
+    public <T> void on(BwEventType<T> type, Consumer<T> listener) {
+        this.listeners = append(this.listeners, type, listener);
+    }
+
+    /**
+     * Registers a consumer that receives events of the given type on a background thread, some time after they were
+     * published.
+     */
+    public <T> void subscribeAsync(BwEventType<T> type, Consumer<T> consumer) {
+        this.asyncListeners = append(this.asyncListeners, type, consumer);
+        this.startDrainer();
+    }
+
+    private static Consumer<?>[][] append(Consumer<?>[][] listeners, BwEventType<?> type, Consumer<?> listener) {
+        Consumer<?>[][] result = Arrays.copyOf(listeners, Math.max(listeners.length, type.id + 1));
+
+        Consumer<?>[] forType = type.id < listeners.length && listeners[type.id] != null ? listeners[type.id] : NO_LISTENERS;
+        forType = Arrays.copyOf(forType, forType.length + 1);
+        forType[forType.length - 1] = listener;
+        result[type.id] = forType;
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void publish(BwEventType<T> type, T event) {
+        this.published++;
+
+        Consumer<?>[][] listeners = this.listeners;
+        if (type.id < listeners.length && listeners[type.id] != null) {
+            for (Consumer<?> listener : listeners[type.id]) {
+                ((Consumer<T>) listener).accept(event);
+            }
+        }
+
+        Consumer<?>[][] asyncListeners = this.asyncListeners;
+        if (type.id < asyncListeners.length && asyncListeners[type.id] != null) {
+            if (!this.ring.offer(type, event)) {
+                this.dropped++;
+            }
+        }
+    }
+
+    private void startDrainer() {
+        if (this.drainer != null) {
+            return;
+        }
+
+        this.running = true;
+
+        Thread drainer = new Thread(this::drainLoop, "BedWars event consumer (" + this.name + ")");
+        drainer.setDaemon(true);
+        drainer.start();
+
+        this.drainer = drainer;
+    }
+
+    private void drainLoop() {
+        while (this.running) {
+            if (this.drain() == 0) {
+                LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+            }
+        }
+
+        // deliver anything published before we were closed
+        this.drain();
+    }
+
+    private int drain() {
+        int count = this.ring.drain(this::dispatchAsync);
+        if (count > 0) {
+            this.drained.addAndGet(count);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchAsync(BwEventType<?> type, Object event) {
+        Consumer<?>[][] asyncListeners = this.asyncListeners;
+        if (type.id >= asyncListeners.length || asyncListeners[type.id] == null) {
+            return;
+        }
+
+        for (Consumer<?> consumer : asyncListeners[type.id]) {
+            try {
+                ((Consumer<Object>) consumer).accept(event);
+            } catch (Throwable t) {
+                BedWars.LOGGER.warn("Async consumer failed to handle {} event", type, t);
+            }
+        }
+    }
+
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(
+                "events: %d published, %d drained off-thread, %d dropped, %d/%d queued",
+                this.published, this.drained.get(), this.dropped, this.ring.size(), this.ring.capacity()
+        ));
+        return lines;
+    }
+
+    @Override
+    public void close() {
+        Thread drainer = this.drainer;
+        if (drainer == null) {
+            return;
+        }
+
+        this.running = false;
+        LockSupport.unpark(drainer);
+
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.drainer = null;
+    }
+}
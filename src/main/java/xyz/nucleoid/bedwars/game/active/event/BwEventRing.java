@@ -0,0 +1,80 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single-producer, single-consumer ring of published events. The server thread offers events without
+ * locking or blocking; if the consumer has fallen behind and the ring is full, the event is dropped instead.
+ */
+final class BwEventRing {
+    private final BwEventType<?>[] types;
+    private final Object[] events;
+    private final int mask;
+
+    // next sequence to write, only advanced by the producer
+    private final AtomicLong head = new AtomicLong();
+    // next sequence to read, only advanced by the consumer
+    private final AtomicLong tail = new AtomicLong();
+
+    BwEventRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+
+        this.types = new BwEventType<?>[capacity];
+        this.events = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(BwEventType<?> type, Object event) {
+        long head = this.head.get();
+        if (head - this.tail.get() > this.mask) {
+            return false;
+        }
+
+        int index = (int) (head & this.mask);
+        this.types[index] = type;
+        this.events[index] = event;
+
+        // publishes the slot writes above to the consumer
+        this.head.lazySet(head + 1);
+
+        return true;
+    }
+
+    int drain(Sink sink) {
+        long tail = this.tail.get();
+        long head = this.head.get();
+
+        int count = 0;
+        while (tail < head) {
+            int index = (int) (tail & this.mask);
+            BwEventType<?> type = this.types[index];
+            Object event = this.events[index];
+            this.types[index] = null;
+            this.events[index] = null;
+
+            tail++;
+            count++;
+
+            sink.accept(type, event);
+        }
+
+        // hands the drained slots back to the producer
+        this.tail.lazySet(tail);
+
+        return count;
+    }
+
+    int size() {
+        return (int) (this.head.get() - this.tail.get());
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    interface Sink {
+        void accept(BwEventType<?> type, Object event);
+    }
+}
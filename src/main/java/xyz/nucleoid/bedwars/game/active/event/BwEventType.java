@@ -0,0 +1,34 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A key for a kind of BedWars event. Each type has a dense id so that listeners can be looked up by array index
+ * instead of by class. Several types may share the same event class.
+ *
+ * @param <T> the event payload published with this type
+ */
+public final class BwEventType<T> {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    final int id;
+    private final String name;
+
+    private BwEventType(String name) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.name = name;
+    }
+
+    public static <T> BwEventType<T> create(String name) {
+        return new BwEventType<>(name);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,13 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+public final class BwEvents {
+    public static final BwEventType<PlayerDeathEvent> PLAYER_DEATH = BwEventType.create("player_death");
+    public static final BwEventType<PlayerDeathEvent> FINAL_DEATH = BwEventType.create("final_death");
+    public static final BwEventType<BedBrokenEvent> BED_BROKEN = BwEventType.create("bed_broken");
+    public static final BwEventType<TeamEliminatedEvent> TEAM_ELIMINATED = BwEventType.create("team_eliminated");
+    public static final BwEventType<TeamUpgradeEvent> TEAM_UPGRADE = BwEventType.create("team_upgrade");
+    public static final BwEventType<GameOverEvent> GAME_OVER = BwEventType.create("game_over");
+
+    private BwEvents() {
+    }
+}
@@ -0,0 +1,23 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+
+public final class GameOverEvent {
+    public final long time;
+    /**
+     * The winning team, or {@code null} if the game ended in a draw
+     */
+    @Nullable
+    public final GameTeam winner;
+
+    public GameOverEvent(long time, @Nullable GameTeam winner) {
+        this.time = time;
+        this.winner = winner;
+    }
+
+    @Override
+    public String toString() {
+        return this.winner != null ? this.winner.getKey() + " won" : "draw";
+    }
+}
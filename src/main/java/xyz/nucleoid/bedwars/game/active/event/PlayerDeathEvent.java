@@ -0,0 +1,28 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.PlayerRef;
+
+public final class PlayerDeathEvent {
+    public final long time;
+    public final PlayerRef player;
+    public final GameTeam team;
+    @Nullable
+    public final PlayerRef killer;
+    @Nullable
+    public final GameTeam killerTeam;
+
+    public PlayerDeathEvent(long time, PlayerRef player, GameTeam team, @Nullable PlayerRef killer, @Nullable GameTeam killerTeam) {
+        this.time = time;
+        this.player = player;
+        this.team = team;
+        this.killer = killer;
+        this.killerTeam = killerTeam;
+    }
+
+    @Override
+    public String toString() {
+        return this.player + " (" + this.team.getKey() + ") killed by " + (this.killer != null ? this.killer + " (" + this.killerTeam.getKey() + ")" : "nobody");
+    }
+}
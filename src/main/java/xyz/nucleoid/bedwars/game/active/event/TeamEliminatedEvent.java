@@ -0,0 +1,18 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+
+public final class TeamEliminatedEvent {
+    public final long time;
+    public final GameTeam team;
+
+    public TeamEliminatedEvent(long time, GameTeam team) {
+        this.time = time;
+        this.team = team;
+    }
+
+    @Override
+    public String toString() {
+        return this.team.getKey() + " eliminated";
+    }
+}
@@ -0,0 +1,23 @@
+package xyz.nucleoid.bedwars.game.active.event;
+
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.util.PlayerRef;
+
+public final class TeamUpgradeEvent {
+    public final long time;
+    public final PlayerRef player;
+    public final GameTeam team;
+    public final String upgrade;
+
+    public TeamUpgradeEvent(long time, PlayerRef player, GameTeam team, String upgrade) {
+        this.time = time;
+        this.player = player;
+        this.team = team;
+        this.upgrade = upgrade;
+    }
+
+    @Override
+    public String toString() {
+        return this.player + " (" + this.team.getKey() + ") " + this.upgrade;
+    }
+}
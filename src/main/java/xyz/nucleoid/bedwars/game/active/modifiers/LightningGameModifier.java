@@ -3,6 +3,7 @@ package xyz.nucleoid.bedwars.game.active.modifiers;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import xyz.nucleoid.bedwars.game.active.BwActive;
+import xyz.nucleoid.bedwars.game.active.BwTickGovernor;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LightningEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -32,6 +33,11 @@ public class LightningGameModifier implements GameModifier {
     @Override
     public void init(BwActive game) {
         game.players().forEach(player -> {
+            // cosmetic lightning is the first thing to go when the server is behind
+            if (this.cosmetic && !game.governor.allowCosmetic(BwTickGovernor.Cosmetic.LIGHTNING)) {
+                return;
+            }
+
             ServerWorld world = game.world;
 
             LightningEntity entity = EntityType.LIGHTNING_BOLT.create(world);
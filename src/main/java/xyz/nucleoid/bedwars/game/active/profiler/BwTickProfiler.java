@@ -0,0 +1,204 @@
+package xyz.nucleoid.bedwars.game.active.profiler;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.game.active.BwItemGenerator;
+import xyz.nucleoid.plasmid.game.GameSpace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Times the phases of an active BedWars tick into rolling histograms. One profiler exists per game space and is
+ * looked up by the {@code /bedwars profile} command.
+ */
+public final class BwTickProfiler implements AutoCloseable {
+    public static final int WINDOW = 20 * 60;
+
+    private static final Map<GameSpace, BwTickProfiler> PROFILERS = new Reference2ObjectOpenHashMap<>();
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    @Nullable
+    private final GameSpace gameSpace;
+    private final TickHistogram[] phases = new TickHistogram[PHASES.length];
+
+    private TickHistogram[] generators = new TickHistogram[0];
+    private String[] generatorNames = new String[0];
+
+    private final List<Supplier<List<String>>> attachedReports = new ArrayList<>();
+
+    private BwTickProfiler(@Nullable GameSpace gameSpace) {
+        this.gameSpace = gameSpace;
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i] = new TickHistogram(WINDOW);
+        }
+    }
+
+    public static BwTickProfiler create(GameSpace gameSpace) {
+        BwTickProfiler profiler = new BwTickProfiler(gameSpace);
+        PROFILERS.put(gameSpace, profiler);
+        return profiler;
+    }
+
+    /**
+     * Creates a profiler that is not registered to any game space, for timing game logic outside of a running game.
+     */
+    public static BwTickProfiler createDetached() {
+        return new BwTickProfiler(null);
+    }
+
+    @Nullable
+    public static BwTickProfiler forGameSpace(GameSpace gameSpace) {
+        return PROFILERS.get(gameSpace);
+    }
+
+    /**
+     * Appends the lines from the given source to every report, such as scheduler occupancy or event bus counters.
+     */
+    public void attachReport(Supplier<List<String>> report) {
+        this.attachedReports.add(report);
+    }
+
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since {@code start} against the given phase.
+     *
+     * @return the current time, so that consecutive phases can be chained without another clock read
+     */
+    public long end(TickPhase phase, long start) {
+        long now = System.nanoTime();
+        this.phases[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    public long endGenerator(int index, BwItemGenerator generator, long start) {
+        long now = System.nanoTime();
+        this.generator(index, generator).record(now - start);
+        return now;
+    }
+
+    private TickHistogram generator(int index, BwItemGenerator generator) {
+        if (index >= this.generators.length) {
+            int size = Math.max(index + 1, this.generators.length * 2);
+            this.generators = Arrays.copyOf(this.generators, size);
+            this.generatorNames = Arrays.copyOf(this.generatorNames, size);
+        }
+
+        TickHistogram histogram = this.generators[index];
+        if (histogram == null) {
+            BlockPos pos = generator.getBounds().getMin();
+            this.generatorNames[index] = "generator@" + pos.getX() + "," + pos.getY() + "," + pos.getZ();
+            this.generators[index] = histogram = new TickHistogram(WINDOW);
+        }
+
+        return histogram;
+    }
+
+    public TickHistogram getPhase(TickPhase phase) {
+        return this.phases[phase.ordinal()];
+    }
+
+    public void reset() {
+        for (TickHistogram histogram : this.phases) {
+            histogram.reset();
+        }
+        for (TickHistogram histogram : this.generators) {
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+    }
+
+    public List<String> report(boolean includeGenerators) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-24s %8s %8s %8s %8s", "phase", "mean", "p50", "p99", "max"));
+
+        for (TickPhase phase : PHASES) {
+            lines.add(formatLine(phase.getName(), this.phases[phase.ordinal()].snapshot()));
+        }
+
+        if (includeGenerators) {
+            for (int i = 0; i < this.generators.length; i++) {
+                TickHistogram histogram = this.generators[i];
+                if (histogram != null) {
+                    lines.add(formatLine(this.generatorNames[i], histogram.snapshot()));
+                }
+            }
+        }
+
+        for (Supplier<List<String>> report : this.attachedReports) {
+            lines.addAll(report.get());
+        }
+
+        return lines;
+    }
+
+    private static String formatLine(String name, TickHistogram.Snapshot snapshot) {
+        return String.format(
+                "%-24s %8.3f %8.3f %8.3f %8.3f",
+                name, toMillis(snapshot.mean), toMillis(snapshot.p50), toMillis(snapshot.p99), toMillis(snapshot.max)
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public Path dump() throws IOException {
+        Path directory = FabricLoader.getInstance().getGameDir().resolve("bedwars").resolve("profiles");
+        Files.createDirectories(directory);
+
+        String source = this.gameSpace != null ? this.gameSpace.getWorld().getRegistryKey().getValue().toString() : "detached profiler";
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        String name = "tick-profile-" + timestamp + "-" + source.replaceAll("[^a-zA-Z0-9_.-]", "_");
+
+        Path path = directory.resolve(name + ".txt");
+        for (int suffix = 1; ; suffix++) {
+            try {
+                this.writeTo(path, source);
+                return path;
+            } catch (FileAlreadyExistsException e) {
+                path = directory.resolve(name + "-" + suffix + ".txt");
+            }
+        }
+    }
+
+    private void writeTo(Path path, String source) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writer.write("# BedWars tick profile for " + source);
+            writer.newLine();
+            writer.write("# last " + WINDOW + " ticks, times in milliseconds");
+            writer.newLine();
+
+            for (String line : this.report(true)) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.gameSpace != null) {
+            PROFILERS.remove(this.gameSpace);
+        }
+    }
+}
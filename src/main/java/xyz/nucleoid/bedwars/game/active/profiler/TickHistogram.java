@@ -0,0 +1,88 @@
+package xyz.nucleoid.bedwars.game.active.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a rolling window of the most recent nanosecond samples for a single tick phase.
+ * Recording is a plain array write so that it can be done every tick; percentiles are only
+ * computed when a snapshot is requested.
+ */
+public final class TickHistogram {
+    private final long[] samples;
+    private int cursor;
+    private int size;
+
+    private long totalSamples;
+
+    public TickHistogram(int window) {
+        this.samples = new long[window];
+    }
+
+    public void record(long nanos) {
+        this.samples[this.cursor] = nanos;
+        if (++this.cursor >= this.samples.length) {
+            this.cursor = 0;
+        }
+
+        if (this.size < this.samples.length) {
+            this.size++;
+        }
+
+        this.totalSamples++;
+    }
+
+    public void reset() {
+        this.cursor = 0;
+        this.size = 0;
+        this.totalSamples = 0;
+    }
+
+    public long getTotalSamples() {
+        return this.totalSamples;
+    }
+
+    public Snapshot snapshot() {
+        if (this.size == 0) {
+            return Snapshot.EMPTY;
+        }
+
+        long[] sorted = Arrays.copyOf(this.samples, this.size);
+        Arrays.sort(sorted);
+
+        long sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+
+        return new Snapshot(
+                sorted.length,
+                sum / sorted.length,
+                percentile(sorted, 0.5),
+                percentile(sorted, 0.99),
+                sorted[sorted.length - 1]
+        );
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0);
+
+        public final int samples;
+        public final long mean;
+        public final long p50;
+        public final long p99;
+        public final long max;
+
+        Snapshot(int samples, long mean, long p50, long p99, long max) {
+            this.samples = samples;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package xyz.nucleoid.bedwars.game.active.profiler;
+
+public enum TickPhase {
+    TOTAL("total"),
+    SCHEDULER("scheduler"),
+    MAP_LOGIC("map_logic"),
+    ITEM_GENERATORS("item_generators"),
+    SCOREBOARD("scoreboard"),
+    PLAYER_LOGIC("player_logic"),
+    MOVING_CLOUDS("moving_clouds"),
+    MODIFIERS("modifiers");
+
+    private final String name;
+
+    TickPhase(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,311 @@
+package xyz.nucleoid.bedwars.game.active.scheduler;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.game.active.profiler.BwTickProfiler;
+import xyz.nucleoid.bedwars.game.active.profiler.TickHistogram;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel driven by world time. Subsystems register deadlines and repeating tasks here instead of
+ * polling every tick, so that a tick only touches the tasks that are actually due.
+ * <p>
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots. A slot on level {@code n} covers {@code 64^n} ticks,
+ * and tasks are cascaded down a level whenever the level below wraps around. Deadlines further away than the whole
+ * wheel are kept in an overflow list that is re-examined each time the top level wraps.
+ */
+public final class BwScheduler {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final ScheduledTask.Slot[][] wheel = new ScheduledTask.Slot[LEVELS][SLOTS];
+    private final ScheduledTask.Slot overflow = new ScheduledTask.Slot(LEVELS);
+
+    private final List<ScheduledTask> due = new ObjectArrayList<>();
+    private final List<ScheduledTask> cascading = new ObjectArrayList<>();
+
+    private final BwTickProfiler profiler;
+
+    private long nextTick;
+    private boolean started;
+
+    private int staggerIndex;
+
+    private int pendingCount;
+    private int ranLastTick;
+    private long totalRan;
+    private final TickHistogram lag = new TickHistogram(BwTickProfiler.WINDOW);
+
+    public BwScheduler(BwTickProfiler profiler) {
+        this.profiler = profiler;
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.wheel[level][slot] = new ScheduledTask.Slot(level);
+            }
+        }
+    }
+
+    /**
+     * Aligns the wheel with the given world time. Until then, deadlines are counted from tick 0, so any task scheduled
+     * before the first call is moved to run its delay after the given time instead.
+     */
+    public void start(long time) {
+        if (this.started) {
+            return;
+        }
+        this.started = true;
+
+        List<ScheduledTask> pending = new ArrayList<>(this.pendingCount);
+        this.drainWheel(pending);
+
+        this.nextTick = time;
+        for (ScheduledTask task : pending) {
+            task.deadline += time;
+            this.slotFor(task.deadline).add(task);
+        }
+    }
+
+    public ScheduledTask schedule(long delay, Runnable action) {
+        return this.schedule(delay, null, action);
+    }
+
+    public ScheduledTask schedule(long delay, @Nullable TickPhase phase, Runnable action) {
+        return this.insert(new ScheduledTask(this, action, phase, this.nextTick + Math.max(delay, 0), 0));
+    }
+
+    public ScheduledTask scheduleRepeating(long delay, long period, Runnable action) {
+        return this.scheduleRepeating(delay, period, null, action);
+    }
+
+    /**
+     * Schedules a task to first run after {@code delay} ticks, and every {@code period} ticks after that.
+     *
+     * @param phase the profiler phase that time spent in this task is attributed to, if any
+     */
+    public ScheduledTask scheduleRepeating(long delay, long period, @Nullable TickPhase phase, Runnable action) {
+        return this.insert(new ScheduledTask(this, action, phase, this.nextTick + Math.max(delay, 0), Math.max(period, 1)));
+    }
+
+    public ScheduledTask scheduleStaggered(long period, Runnable action) {
+        return this.scheduleStaggered(period, null, action);
+    }
+
+    /**
+     * Schedules a task to run every {@code period} ticks, starting within the first period. Each staggered task starts
+     * one tick after the previous one, so that tasks sharing a period run on different ticks rather than all at once.
+     */
+    public ScheduledTask scheduleStaggered(long period, @Nullable TickPhase phase, Runnable action) {
+        period = Math.max(period, 1);
+        long delay = this.staggerIndex++ % period;
+        return this.scheduleRepeating(delay, period, phase, action);
+    }
+
+    void reschedule(ScheduledTask task, long deadline) {
+        if (task.slot != null) {
+            task.slot.remove(task);
+            this.pendingCount--;
+        }
+
+        task.deadline = deadline;
+        this.insert(task);
+    }
+
+    void cancel(ScheduledTask task) {
+        if (task.slot != null) {
+            task.slot.remove(task);
+            this.pendingCount--;
+        }
+        task.active = false;
+    }
+
+    /**
+     * Cancels every pending task, including any that were due to run later in the tick currently being processed.
+     */
+    public void cancelAll() {
+        List<ScheduledTask> tasks = new ArrayList<>(this.pendingCount);
+        this.drainWheel(tasks);
+
+        // tasks that are due later this tick have already been drained
+        tasks.addAll(this.due);
+
+        for (ScheduledTask task : tasks) {
+            task.active = false;
+        }
+
+        this.pendingCount = 0;
+    }
+
+    private void drainWheel(List<ScheduledTask> tasks) {
+        for (ScheduledTask.Slot[] level : this.wheel) {
+            for (ScheduledTask.Slot slot : level) {
+                slot.drainTo(tasks);
+            }
+        }
+        this.overflow.drainTo(tasks);
+    }
+
+    private ScheduledTask insert(ScheduledTask task) {
+        task.active = true;
+        this.slotFor(task.deadline).add(task);
+        this.pendingCount++;
+        return task;
+    }
+
+    private ScheduledTask.Slot slotFor(long deadline) {
+        long delta = deadline - this.nextTick;
+        if (delta < 0) {
+            // overdue tasks run on the next processed tick
+            return this.wheel[0][(int) (this.nextTick & SLOT_MASK)];
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if (delta < (1L << shift)) {
+                int index = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+                return this.wheel[level][index];
+            }
+        }
+
+        return this.overflow;
+    }
+
+    /**
+     * Advances the wheel up to and including the given world time, running every task that has become due.
+     */
+    public void tick(long time) {
+        this.start(time);
+
+        int ran = 0;
+        while (this.nextTick <= time) {
+            ran += this.advance();
+        }
+
+        this.ranLastTick = ran;
+        this.totalRan += ran;
+    }
+
+    private int advance() {
+        long tick = this.nextTick;
+        int index = (int) (tick & SLOT_MASK);
+
+        if (index == 0) {
+            this.cascade(tick, 1);
+        }
+
+        this.wheel[0][index].drainTo(this.due);
+        this.pendingCount -= this.due.size();
+
+        // tasks scheduled with no delay while running belong to the next tick
+        this.nextTick = tick + 1;
+
+        List<ScheduledTask> due = this.due;
+        int ran = 0;
+        for (int i = 0; i < due.size(); i++) {
+            ScheduledTask task = due.get(i);
+
+            // skip tasks that were cancelled or rescheduled by an earlier task this tick
+            if (!task.active || task.slot != null) {
+                continue;
+            }
+
+            this.run(task, tick);
+            ran++;
+        }
+
+        due.clear();
+
+        return ran;
+    }
+
+    private void cascade(long tick, int level) {
+        if (level >= LEVELS) {
+            this.overflow.drainTo(this.cascading);
+        } else {
+            int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            if (index == 0) {
+                this.cascade(tick, level + 1);
+            }
+
+            this.wheel[level][index].drainTo(this.cascading);
+        }
+
+        List<ScheduledTask> cascading = this.cascading;
+        for (int i = 0; i < cascading.size(); i++) {
+            ScheduledTask task = cascading.get(i);
+            this.slotFor(task.deadline).add(task);
+        }
+
+        cascading.clear();
+    }
+
+    private void run(ScheduledTask task, long tick) {
+        this.lag.record(tick - task.deadline);
+
+        if (task.period > 0) {
+            task.deadline = tick + task.period;
+            this.insert(task);
+        } else {
+            task.active = false;
+        }
+
+        TickPhase phase = task.phase;
+        if (phase != null) {
+            long start = this.profiler.begin();
+            task.action.run();
+            this.profiler.end(phase, start);
+        } else {
+            task.action.run();
+        }
+    }
+
+    public int getPendingCount() {
+        return this.pendingCount;
+    }
+
+    public int getRanLastTick() {
+        return this.ranLastTick;
+    }
+
+    public long getTotalRan() {
+        return this.totalRan;
+    }
+
+    public int getOccupancy(int level) {
+        ScheduledTask.Slot[] slots = level < LEVELS ? this.wheel[level] : new ScheduledTask.Slot[] { this.overflow };
+
+        int count = 0;
+        for (ScheduledTask.Slot slot : slots) {
+            count += slot.size;
+        }
+        return count;
+    }
+
+    public TickHistogram.Snapshot getLagSnapshot() {
+        return this.lag.snapshot();
+    }
+
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+
+        StringBuilder occupancy = new StringBuilder();
+        for (int level = 0; level <= LEVELS; level++) {
+            if (level > 0) {
+                occupancy.append(' ');
+            }
+            occupancy.append(level < LEVELS ? "l" + level : "overflow").append('=').append(this.getOccupancy(level));
+        }
+
+        lines.add(String.format("scheduler: %d pending (%s), %d ran last tick, %d total", this.pendingCount, occupancy, this.ranLastTick, this.totalRan));
+
+        TickHistogram.Snapshot lag = this.lag.snapshot();
+        lines.add(String.format("scheduler lag (ticks): p50 %d, p99 %d, max %d", lag.p50, lag.p99, lag.max));
+
+        return lines;
+    }
+}
@@ -0,0 +1,137 @@
+package xyz.nucleoid.bedwars.game.active.scheduler;
+
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.game.active.profiler.TickPhase;
+
+import java.util.List;
+
+/**
+ * A deadline or periodic task registered with a {@link BwScheduler}. Tasks are linked directly into the wheel slot
+ * that holds them, so that cancelling or rescheduling never needs to search.
+ */
+public final class ScheduledTask {
+    final BwScheduler scheduler;
+    final Runnable action;
+    @Nullable
+    final TickPhase phase;
+
+    long deadline;
+    long period;
+    boolean active;
+
+    ScheduledTask prev;
+    ScheduledTask next;
+    ScheduledTask.Slot slot;
+
+    ScheduledTask(BwScheduler scheduler, Runnable action, @Nullable TickPhase phase, long deadline, long period) {
+        this.scheduler = scheduler;
+        this.action = action;
+        this.phase = phase;
+        this.deadline = deadline;
+        this.period = period;
+    }
+
+    public long getDeadline() {
+        return this.deadline;
+    }
+
+    public boolean isScheduled() {
+        return this.active;
+    }
+
+    public boolean isRepeating() {
+        return this.period > 0;
+    }
+
+    /**
+     * Changes the period of a repeating task. The change takes effect from the next time the task runs.
+     */
+    public void setPeriod(long period) {
+        this.period = Math.max(period, 1);
+    }
+
+    /**
+     * Changes the period of a repeating task and moves its pending run to one new period after its last run, so that a
+     * shorter period applies immediately rather than after the remainder of the old one.
+     */
+    public void reschedulePeriod(long period) {
+        period = Math.max(period, 1);
+
+        // a task without a slot is either not scheduled or already due this tick: it picks the period up when it runs
+        if (this.slot == null || period == this.period) {
+            this.period = period;
+            return;
+        }
+
+        long lastRun = this.deadline - this.period;
+        this.period = period;
+        this.scheduler.reschedule(this, lastRun + period);
+    }
+
+    /**
+     * Moves this task to a new absolute deadline, scheduling it again if it had been cancelled.
+     */
+    public void rescheduleAt(long deadline) {
+        this.scheduler.reschedule(this, deadline);
+    }
+
+    public void cancel() {
+        this.scheduler.cancel(this);
+    }
+
+    static final class Slot {
+        final int level;
+        ScheduledTask head;
+        int size;
+
+        Slot(int level) {
+            this.level = level;
+        }
+
+        void add(ScheduledTask task) {
+            task.slot = this;
+            task.prev = null;
+            task.next = this.head;
+            if (this.head != null) {
+                this.head.prev = task;
+            }
+            this.head = task;
+            this.size++;
+        }
+
+        void remove(ScheduledTask task) {
+            if (task.prev != null) {
+                task.prev.next = task.next;
+            } else {
+                this.head = task.next;
+            }
+
+            if (task.next != null) {
+                task.next.prev = task.prev;
+            }
+
+            task.prev = null;
+            task.next = null;
+            task.slot = null;
+            this.size--;
+        }
+
+        /**
+         * Detaches every task in this slot into the given list, leaving the slot empty.
+         */
+        void drainTo(List<ScheduledTask> tasks) {
+            ScheduledTask task = this.head;
+            while (task != null) {
+                ScheduledTask next = task.next;
+                task.prev = null;
+                task.next = null;
+                task.slot = null;
+                tasks.add(task);
+                task = next;
+            }
+
+            this.head = null;
+            this.size = 0;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package xyz.nucleoid.bedwars.game.active.shop;
 import xyz.nucleoid.bedwars.custom.BwItems;
 import xyz.nucleoid.bedwars.game.active.BwActive;
 import xyz.nucleoid.bedwars.game.active.BwParticipant;
+import xyz.nucleoid.bedwars.game.active.economy.BwEconomy;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import xyz.nucleoid.bedwars.game.active.upgrade.PlayerUpgrades;
 import xyz.nucleoid.bedwars.game.active.upgrade.Upgrade;
 import xyz.nucleoid.bedwars.game.active.upgrade.UpgradeType;
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.shop.ShopBuilder;
 import xyz.nucleoid.plasmid.shop.ShopEntry;
 import xyz.nucleoid.plasmid.shop.ShopUi;
@@ -20,43 +22,47 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
 import net.minecraft.util.DyeColor;
+import org.jetbrains.annotations.Nullable;
 
 public final class BwItemShop {
     //TODO: reorganize shop layout
     public static ShopUi create(ServerPlayerEntity player, BwActive game) {
         return ShopUi.create(new LiteralText("Item Shop"), shop -> {
             BwParticipant participant = game.getParticipant(player);
+            GameTeam team = participant != null ? participant.team : null;
+
             if (participant != null) {
                 DyeColor color = participant.team.getDye();
-                shop.addItem(new ItemStack(ColoredBlocks.wool(color), 16), Cost.ofIron(4));
-                shop.addItem(new ItemStack(ColoredBlocks.terracotta(color), 16), Cost.ofIron(16));
+                addItem(shop, game, team, new ItemStack(ColoredBlocks.wool(color), 16), Price.ofIron(4));
+                addItem(shop, game, team, new ItemStack(ColoredBlocks.terracotta(color), 16), Price.ofIron(16));
 
                 ItemStack glass = ItemStackBuilder.of(ColoredBlocks.glass(color))
                         .setName(new LiteralText("Shatterproof Glass"))
                         .setCount(4)
                         .build();
 
-                shop.addItem(glass, Cost.ofIron(12));
+                addItem(shop, game, team, glass, Price.ofIron(12));
             }
 
-            shop.addItem(new ItemStack(Blocks.OAK_PLANKS, 16), Cost.ofGold(4));
-            shop.addItem(new ItemStack(Blocks.END_STONE, 12), Cost.ofIron(24));
-            shop.addItem(new ItemStack(Blocks.SAND, 4), Cost.ofGold(4));
-            shop.addItem(new ItemStack(Blocks.OBSIDIAN, 4), Cost.ofEmeralds(4));
-            shop.addItem(new ItemStack(Items.COBWEB, 4), Cost.ofGold(8));
-            shop.addItem(new ItemStack(Items.SCAFFOLDING, 8), Cost.ofGold(4));
+            addItem(shop, game, team, new ItemStack(Blocks.OAK_PLANKS, 16), Price.ofGold(4));
+            addItem(shop, game, team, new ItemStack(Blocks.END_STONE, 12), Price.ofIron(24));
+            addItem(shop, game, team, new ItemStack(Blocks.SAND, 4), Price.ofGold(4));
+            addItem(shop, game, team, new ItemStack(Blocks.OBSIDIAN, 4), Price.ofEmeralds(4));
+            addItem(shop, game, team, new ItemStack(Items.COBWEB, 4), Price.ofGold(8));
+            addItem(shop, game, team, new ItemStack(Items.SCAFFOLDING, 8), Price.ofGold(4));
 
-            shop.addItem(new ItemStack(Items.TORCH, 8), Cost.ofGold(1));
+            addItem(shop, game, team, new ItemStack(Items.TORCH, 8), Price.ofGold(1));
 
-            shop.addItem(ItemStackBuilder.of(Items.SHIELD).setUnbreakable().build(), Cost.ofGold(10));
-            shop.addItem(ItemStackBuilder.of(Items.BOW).setUnbreakable().build(), Cost.ofGold(20));
-            shop.addItem(new ItemStack(Items.ARROW, 4), Cost.ofGold(2));
-            shop.addItem(
+            addItem(shop, game, team, ItemStackBuilder.of(Items.SHIELD).setUnbreakable().build(), Price.ofGold(10));
+            addItem(shop, game, team, ItemStackBuilder.of(Items.BOW).setUnbreakable().build(), Price.ofGold(20));
+            addItem(shop, game, team, new ItemStack(Items.ARROW, 4), Price.ofGold(2));
+            addItem(
+                    shop, game, team,
                     ItemStackBuilder.of(Items.STICK)
                             .addEnchantment(Enchantments.KNOCKBACK, 1)
                             .addLore(new LiteralText("Haha, target go zoom"))
                             .build(),
-                    Cost.ofGold(10)
+                    Price.ofGold(10)
             );
 
             ItemStack trident = ItemStackBuilder.of(Items.TRIDENT)
@@ -64,33 +70,44 @@ public final class BwItemShop {
                     .addEnchantment(Enchantments.LOYALTY, 1)
                     .build();
 
-            shop.addItem(trident, Cost.ofEmeralds(6));
+            addItem(shop, game, team, trident, Price.ofEmeralds(6));
 
-            shop.addItem(new ItemStack(Blocks.TNT), Cost.ofGold(8));
-            shop.addItem(new ItemStack(Items.FIRE_CHARGE), Cost.ofIron(50));
-            shop.addItem(new ItemStack(Items.ENDER_PEARL), Cost.ofEmeralds(4));
-            shop.addItem(new ItemStack(Items.WATER_BUCKET), Cost.ofGold(10));
-            shop.addItem(new ItemStack(Items.LAVA_BUCKET), Cost.ofGold(24));
-            shop.addItem(new ItemStack(Items.GOLDEN_APPLE), Cost.ofGold(3));
-            shop.addItem(new ItemStack(BwItems.CHORUS_FRUIT, 4), Cost.ofGold(8));
-            shop.addItem(new ItemStack(BwItems.BRIDGE_EGG), Cost.ofEmeralds(2));
-            shop.addItem(new ItemStack(BwItems.MOVING_CLOUD), Cost.ofEmeralds(2));
+            addItem(shop, game, team, new ItemStack(Blocks.TNT), Price.ofGold(8));
+            addItem(shop, game, team, new ItemStack(Items.FIRE_CHARGE), Price.ofIron(50));
+            addItem(shop, game, team, new ItemStack(Items.ENDER_PEARL), Price.ofEmeralds(4));
+            addItem(shop, game, team, new ItemStack(Items.WATER_BUCKET), Price.ofGold(10));
+            addItem(shop, game, team, new ItemStack(Items.LAVA_BUCKET), Price.ofGold(24));
+            addItem(shop, game, team, new ItemStack(Items.GOLDEN_APPLE), Price.ofGold(3));
+            addItem(shop, game, team, new ItemStack(BwItems.CHORUS_FRUIT, 4), Price.ofGold(8));
+            addItem(shop, game, team, new ItemStack(BwItems.BRIDGE_EGG), Price.ofEmeralds(2));
+            addItem(shop, game, team, new ItemStack(BwItems.MOVING_CLOUD), Price.ofEmeralds(2));
 
             if (participant != null) {
                 PlayerUpgrades upgrades = participant.upgrades;
 
-                addUpgrade(shop, upgrades, UpgradeType.SWORD, new LiteralText("Upgrade Sword"));
-                addUpgrade(shop, upgrades, UpgradeType.PICKAXE, new LiteralText("Upgrade Pickaxe"));
-                addUpgrade(shop, upgrades, UpgradeType.AXE, new LiteralText("Upgrade Axe"));
-                addUpgrade(shop, upgrades, UpgradeType.SHEARS, new LiteralText("Add Shears"));
+                addUpgrade(shop, game, participant, upgrades, UpgradeType.SWORD, new LiteralText("Upgrade Sword"));
+                addUpgrade(shop, game, participant, upgrades, UpgradeType.PICKAXE, new LiteralText("Upgrade Pickaxe"));
+                addUpgrade(shop, game, participant, upgrades, UpgradeType.AXE, new LiteralText("Upgrade Axe"));
+                addUpgrade(shop, game, participant, upgrades, UpgradeType.SHEARS, new LiteralText("Add Shears"));
 
-                addUpgrade(shop, upgrades, UpgradeType.ARMOR, new LiteralText("Upgrade Armor"));
+                addUpgrade(shop, game, participant, upgrades, UpgradeType.ARMOR, new LiteralText("Upgrade Armor"));
             }
         });
     }
 
+    private static void addItem(ShopBuilder shop, BwActive game, @Nullable GameTeam team, ItemStack stack, Price price) {
+        shop.add(ShopEntry.ofIcon(stack)
+                .withName(stack.getName())
+                .withCost(price.toCost())
+                .onBuy(p -> {
+                    p.inventory.offerOrDrop(p.world, stack.copy());
+                    game.economy.recordSpent(team, price);
+                }));
+    }
+
     private static <T extends Upgrade> void addUpgrade(
             ShopBuilder shop,
+            BwActive game, BwParticipant participant,
             PlayerUpgrades upgrades, UpgradeType<T> type,
             Text name
     ) {
@@ -101,10 +118,8 @@ public final class BwItemShop {
         if (nextUpgrade != null) {
             shop.add(ShopEntry.ofIcon(nextUpgrade.getIcon())
                     .withName(name)
-                    .withCost(nextUpgrade.getCost())
-                    .onBuy(p -> {
-                        upgrades.applyLevel(type, nextLevel);
-                    }));
+                    .withCost(nextUpgrade.getPrice().toCost())
+                    .onBuy(p -> applyUpgrade(game.economy, participant, type, nextLevel)));
         } else {
             T currentUpgrade = type.forLevel(currentLevel);
             if (currentUpgrade != null) {
@@ -112,4 +127,16 @@ public final class BwItemShop {
             }
         }
     }
+
+    /**
+     * Applies an upgrade that has been paid for and records its price. This does not need the buyer to be online, so
+     * it is also how simulated participants buy upgrades.
+     */
+    public static <T extends Upgrade> void applyUpgrade(BwEconomy economy, BwParticipant participant, UpgradeType<T> type, int level) {
+        T upgrade = type.forLevel(level);
+        if (upgrade != null) {
+            participant.upgrades.applyLevel(type, level);
+            economy.recordSpent(participant.team, upgrade.getPrice());
+        }
+    }
 }
@@ -3,7 +3,7 @@ package xyz.nucleoid.bedwars.game.active.shop;
 import xyz.nucleoid.bedwars.game.BwMap;
 import xyz.nucleoid.bedwars.game.active.BwActive;
 import xyz.nucleoid.bedwars.game.active.BwParticipant;
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import xyz.nucleoid.plasmid.shop.ShopEntry;
 import xyz.nucleoid.plasmid.shop.ShopUi;
 import net.minecraft.block.Blocks;
@@ -21,72 +21,77 @@ public final class BwTeamShop {
             // TODO: generic team upgrade system
             BwActive.TeamState teamState = game.getTeam(participant.team);
             if (teamState != null) {
-                Cost trapCost = !teamState.trapSet ? Cost.ofDiamonds(1) : Cost.no();
+                Price trapPrice = !teamState.trapSet ? Price.ofDiamonds(1) : Price.no();
 
                 shop.add(ShopEntry.ofIcon(Items.REDSTONE_TORCH)
                         .withName(new LiteralText("Activate Base Trap"))
                         .addLore(new LiteralText("When an enemy player enters the base,"))
                         .addLore(new LiteralText("they will receive blindness and slowness"))
-                        .withCost(trapCost)
+                        .withCost(trapPrice.toCost())
                         .onBuy(p -> {
                             teamState.trapSet = true;
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("activated the base trap!"));
+                            game.economy.recordSpent(participant.team, trapPrice);
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("activated the base trap!"));
                         })
                 );
 
-                Cost healPoolCost = !teamState.healPool ? Cost.ofDiamonds(3) : Cost.no();
+                Price healPoolPrice = !teamState.healPool ? Price.ofDiamonds(3) : Price.no();
                 shop.add(ShopEntry.ofIcon(Blocks.BEACON)
                         .withName(new LiteralText("Activate Heal Pool"))
                         .addLore(new LiteralText("Friendly players will receive"))
                         .addLore(new LiteralText("regeneration in their base"))
-                        .withCost(healPoolCost)
+                        .withCost(healPoolPrice.toCost())
                         .onBuy(p -> {
                             teamState.healPool = true;
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("activated a heal pool!"));
+                            game.economy.recordSpent(participant.team, healPoolPrice);
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("activated a heal pool!"));
                         })
                 );
 
-                Cost hasteCost = !teamState.hasteEnabled ? Cost.ofDiamonds(3) : Cost.no();
+                Price hastePrice = !teamState.hasteEnabled ? Price.ofDiamonds(3) : Price.no();
                 shop.add(ShopEntry.ofIcon(Items.GOLDEN_PICKAXE)
                         .withName(new LiteralText("Activate Haste"))
                         .addLore(new LiteralText("All team members will get"))
                         .addLore(new LiteralText("a permanent haste effect"))
-                        .withCost(hasteCost)
+                        .withCost(hastePrice.toCost())
                         .onBuy(p -> {
                             teamState.hasteEnabled = true;
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("activated haste!"));
+                            game.economy.recordSpent(participant.team, hastePrice);
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("activated haste!"));
                         })
                 );
 
                 int sharpness = teamState.swordSharpness;
                 int nextSharpness = Math.min(sharpness + 1, BwActive.TeamState.MAX_SHARPNESS);
 
-                Cost sharpnessCost = sharpness != nextSharpness ? Cost.ofDiamonds(stagedUpgrade(4, sharpness)) : Cost.no();
+                Price sharpnessPrice = sharpness != nextSharpness ? Price.ofDiamonds(stagedUpgrade(4, sharpness)) : Price.no();
                 shop.add(ShopEntry.ofIcon(Items.DIAMOND_SWORD)
                         .withName(new LiteralText("Sword Sharpness " + nextSharpness))
                         .addLore(new LiteralText("All team members will get"))
                         .addLore(new LiteralText("sharpness applied to their swords"))
-                        .withCost(sharpnessCost)
+                        .withCost(sharpnessPrice.toCost())
                         .onBuy(p -> {
                             teamState.swordSharpness = Math.max(nextSharpness, teamState.swordSharpness);
+                            game.economy.recordSpent(participant.team, sharpnessPrice);
                             game.teamLogic.applyEnchantments(participant.team);
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("added Sword Sharpness " + teamState.swordSharpness));
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("added Sword Sharpness " + teamState.swordSharpness));
                         })
                 );
 
                 int protection = teamState.armorProtection;
                 int nextProtection = Math.min(protection + 1, BwActive.TeamState.MAX_PROTECTION);
 
-                Cost protectionCost = protection != nextProtection ? Cost.ofDiamonds(stagedUpgrade(4, protection)) : Cost.no();
+                Price protectionPrice = protection != nextProtection ? Price.ofDiamonds(stagedUpgrade(4, protection)) : Price.no();
                 shop.add(ShopEntry.ofIcon(Items.DIAMOND_CHESTPLATE)
                         .withName(new LiteralText("Armor Protection " + nextProtection))
                         .addLore(new LiteralText("All team members will get"))
                         .addLore(new LiteralText("protection applied to their armor"))
-                        .withCost(protectionCost)
+                        .withCost(protectionPrice.toCost())
                         .onBuy(p -> {
                             teamState.armorProtection = Math.max(nextProtection, teamState.armorProtection);
+                            game.economy.recordSpent(participant.team, protectionPrice);
                             game.teamLogic.applyEnchantments(participant.team);
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("added Armor Protection " + teamState.armorProtection));
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("added Armor Protection " + teamState.armorProtection));
                         })
                 );
             }
@@ -95,16 +100,17 @@ public final class BwTeamShop {
             if (teamSpawn != null) {
                 int level = teamSpawn.getLevel();
                 int nextLevel = Math.min(level + 1, BwMap.TeamSpawn.MAX_LEVEL);
-                Cost generatorCost = level != nextLevel ? Cost.ofDiamonds(stagedUpgrade(2, level)) : Cost.no();
+                Price generatorPrice = level != nextLevel ? Price.ofDiamonds(stagedUpgrade(2, level)) : Price.no();
 
                 shop.add(ShopEntry.ofIcon(Blocks.FURNACE)
                         .withName(new LiteralText("Upgrade Generator"))
                         .addLore(new LiteralText("The generator in your team base"))
                         .addLore(new LiteralText("will spawn items faster"))
-                        .withCost(generatorCost)
+                        .withCost(generatorPrice.toCost())
                         .onBuy(p -> {
                             teamSpawn.setLevel(nextLevel);
-                            game.broadcast.broadcastTeamUpgrade(participant, new LiteralText("upgraded to Generator " + teamSpawn.getLevel()));
+                            game.economy.recordSpent(participant.team, generatorPrice);
+                            game.teamLogic.onTeamUpgrade(participant, new LiteralText("upgraded to Generator " + teamSpawn.getLevel()));
                         })
                 );
             }
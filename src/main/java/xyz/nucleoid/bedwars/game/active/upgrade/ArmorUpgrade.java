@@ -2,7 +2,7 @@ package xyz.nucleoid.bedwars.game.active.upgrade;
 
 import xyz.nucleoid.bedwars.game.active.BwActive;
 import xyz.nucleoid.bedwars.game.active.BwParticipant;
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -15,18 +15,18 @@ public final class ArmorUpgrade implements Upgrade {
             EquipmentSlot.LEGS, EquipmentSlot.FEET
     };
 
-    public static final ArmorUpgrade LEATHER = new ArmorUpgrade(Items.LEATHER_CHESTPLATE, Items.LEATHER_BOOTS, Cost.no());
-    public static final ArmorUpgrade IRON = new ArmorUpgrade(Items.IRON_CHESTPLATE, Items.IRON_BOOTS, Cost.ofGold(12));
-    public static final ArmorUpgrade DIAMOND = new ArmorUpgrade(Items.DIAMOND_CHESTPLATE, Items.DIAMOND_BOOTS, Cost.ofEmeralds(6));
+    public static final ArmorUpgrade LEATHER = new ArmorUpgrade(Items.LEATHER_CHESTPLATE, Items.LEATHER_BOOTS, Price.no());
+    public static final ArmorUpgrade IRON = new ArmorUpgrade(Items.IRON_CHESTPLATE, Items.IRON_BOOTS, Price.ofGold(12));
+    public static final ArmorUpgrade DIAMOND = new ArmorUpgrade(Items.DIAMOND_CHESTPLATE, Items.DIAMOND_BOOTS, Price.ofEmeralds(6));
 
     public final Item chest;
     public final Item feet;
-    public final Cost cost;
+    public final Price price;
 
-    public ArmorUpgrade(Item chest, Item feet, Cost cost) {
+    public ArmorUpgrade(Item chest, Item feet, Price price) {
         this.chest = chest;
         this.feet = feet;
-        this.cost = cost;
+        this.price = price;
     }
 
     @Override
@@ -58,7 +58,7 @@ public final class ArmorUpgrade implements Upgrade {
     }
 
     @Override
-    public Cost getCost() {
-        return this.cost;
+    public Price getPrice() {
+        return this.price;
     }
 }
@@ -2,7 +2,7 @@ package xyz.nucleoid.bedwars.game.active.upgrade;
 
 import xyz.nucleoid.bedwars.game.active.BwActive;
 import xyz.nucleoid.bedwars.game.active.BwParticipant;
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import net.minecraft.item.Item;
 import net.minecraft.server.network.ServerPlayerEntity;
 
@@ -13,5 +13,5 @@ public interface Upgrade {
 
     Item getIcon();
 
-    Cost getCost();
+    Price getPrice();
 }
@@ -1,6 +1,6 @@
 package xyz.nucleoid.bedwars.game.active.upgrade;
 
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import net.minecraft.enchantment.Enchantments;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -17,25 +17,25 @@ public final class UpgradeType<T extends Upgrade> {
             .addLevel(ArmorUpgrade.DIAMOND);
 
     public static final UpgradeType<WeaponUpgrade> SWORD = new UpgradeType<WeaponUpgrade>()
-            .addLevel(new WeaponUpgrade(Items.WOODEN_SWORD, Cost.no()))
-            .addLevel(new WeaponUpgrade(Items.STONE_SWORD, Cost.ofIron(12)))
-            .addLevel(new WeaponUpgrade(Items.IRON_SWORD, Cost.ofGold(6)))
-            .addLevel(new WeaponUpgrade(Items.DIAMOND_SWORD, Cost.ofEmeralds(3)));
+            .addLevel(new WeaponUpgrade(Items.WOODEN_SWORD, Price.no()))
+            .addLevel(new WeaponUpgrade(Items.STONE_SWORD, Price.ofIron(12)))
+            .addLevel(new WeaponUpgrade(Items.IRON_SWORD, Price.ofGold(6)))
+            .addLevel(new WeaponUpgrade(Items.DIAMOND_SWORD, Price.ofEmeralds(3)));
 
     public static final UpgradeType<WeaponUpgrade> PICKAXE = new UpgradeType<WeaponUpgrade>()
-            .addLevel(new WeaponUpgrade(Items.WOODEN_PICKAXE, Cost.ofIron(8)))
-            .addLevel(new WeaponUpgrade(Items.STONE_PICKAXE, Cost.ofIron(12)))
-            .addLevel(new WeaponUpgrade(Items.IRON_PICKAXE, Cost.ofGold(4)))
-            .addLevel(new WeaponUpgrade(diamondTool(Items.DIAMOND_PICKAXE), Cost.ofGold(12)));
+            .addLevel(new WeaponUpgrade(Items.WOODEN_PICKAXE, Price.ofIron(8)))
+            .addLevel(new WeaponUpgrade(Items.STONE_PICKAXE, Price.ofIron(12)))
+            .addLevel(new WeaponUpgrade(Items.IRON_PICKAXE, Price.ofGold(4)))
+            .addLevel(new WeaponUpgrade(diamondTool(Items.DIAMOND_PICKAXE), Price.ofGold(12)));
 
     public static final UpgradeType<WeaponUpgrade> AXE = new UpgradeType<WeaponUpgrade>()
-            .addLevel(new WeaponUpgrade(Items.WOODEN_AXE, Cost.ofIron(8)))
-            .addLevel(new WeaponUpgrade(Items.STONE_AXE, Cost.ofIron(12)))
-            .addLevel(new WeaponUpgrade(Items.IRON_AXE, Cost.ofGold(4)))
-            .addLevel(new WeaponUpgrade(diamondTool(Items.DIAMOND_AXE), Cost.ofGold(8)));
+            .addLevel(new WeaponUpgrade(Items.WOODEN_AXE, Price.ofIron(8)))
+            .addLevel(new WeaponUpgrade(Items.STONE_AXE, Price.ofIron(12)))
+            .addLevel(new WeaponUpgrade(Items.IRON_AXE, Price.ofGold(4)))
+            .addLevel(new WeaponUpgrade(diamondTool(Items.DIAMOND_AXE), Price.ofGold(8)));
 
     public static final UpgradeType<WeaponUpgrade> SHEARS = new UpgradeType<WeaponUpgrade>()
-            .addLevel(new WeaponUpgrade(Items.SHEARS, Cost.ofIron(40)));
+            .addLevel(new WeaponUpgrade(Items.SHEARS, Price.ofIron(40)));
 
     private static ItemStack diamondTool(Item item) {
         ItemStack stack = new ItemStack(item);
@@ -2,7 +2,7 @@ package xyz.nucleoid.bedwars.game.active.upgrade;
 
 import xyz.nucleoid.bedwars.game.active.BwActive;
 import xyz.nucleoid.bedwars.game.active.BwParticipant;
-import xyz.nucleoid.plasmid.shop.Cost;
+import xyz.nucleoid.bedwars.game.active.economy.Price;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemConvertible;
 import net.minecraft.item.ItemStack;
@@ -10,16 +10,16 @@ import net.minecraft.server.network.ServerPlayerEntity;
 
 public final class WeaponUpgrade implements Upgrade {
     public final ItemStack stack;
-    public final Cost cost;
+    public final Price price;
 
-    public WeaponUpgrade(ItemStack stack, Cost cost) {
+    public WeaponUpgrade(ItemStack stack, Price price) {
         this.stack = stack;
-        this.cost = cost;
+        this.price = price;
     }
 
-    public WeaponUpgrade(ItemConvertible item, Cost cost) {
+    public WeaponUpgrade(ItemConvertible item, Price price) {
         this.stack = new ItemStack(item);
-        this.cost = cost;
+        this.price = price;
     }
 
     @Override
@@ -44,7 +44,7 @@ public final class WeaponUpgrade implements Upgrade {
     }
 
     @Override
-    public Cost getCost() {
-        return this.cost;
+    public Price getPrice() {
+        return this.price;
     }
 }
@@ -19,16 +19,16 @@ import xyz.nucleoid.plasmid.game.gen.feature.tree.PoplarTreeGen;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.map.template.TemplateChunkGenerator;
 
-import java.util.Random;
-
 public final class BwSkyChunkGenerator extends TemplateChunkGenerator {
     private final BwMap map;
     private final BwSkyMapConfig config;
+    private final long seed;
 
-    public BwSkyChunkGenerator(BwMap map, BwSkyMapConfig config, MinecraftServer server, MapTemplate template) {
+    public BwSkyChunkGenerator(BwMap map, BwSkyMapConfig config, MinecraftServer server, MapTemplate template, long seed) {
         super(server, template);
         this.map = map;
         this.config = config;
+        this.seed = seed;
     }
 
     @Override
@@ -74,23 +74,17 @@ public final class BwSkyChunkGenerator extends TemplateChunkGenerator {
     @Override
     public void generateFeatures(ChunkRegion region, StructureAccessor structures) {
         BlockPos.Mutable mutable = new BlockPos.Mutable();
-        Random random = new Random();
         MapTheme theme = this.config.theme;
 
+        ChunkRandom random = new ChunkRandom();
+        random.setPopulationSeed(this.seed, region.getCenterChunkX() * 16, region.getCenterChunkZ() * 16);
+
         for (int i = 0; i < theme.treeAmt(); i++) {
             int x = (region.getCenterChunkX() * 16) + random.nextInt(16);
             int z = (region.getCenterChunkZ() * 16) + random.nextInt(16);
             int y = region.getTopY(Heightmap.Type.WORLD_SURFACE_WG, x, z);
 
-            boolean generate = true;
-            for (BwMap.TeamRegions regions : this.map.getAllTeamRegions().values()) {
-                if (regions.base.contains(x, z)) {
-                    generate = false;
-                    break;
-                }
-            }
-
-            if (generate) {
+            if (!this.map.isBaseColumn(x, z)) {
                 theme.tree().generate(region, mutable.set(x, y, z).toImmutable(), random);
             }
         }
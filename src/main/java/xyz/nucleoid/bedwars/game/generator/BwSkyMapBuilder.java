@@ -9,12 +9,15 @@ import xyz.nucleoid.bedwars.game.generator.island.BwCenterIsland;
 import xyz.nucleoid.bedwars.game.generator.island.BwDiamondIsland;
 import xyz.nucleoid.bedwars.game.generator.island.BwTeamIsland;
 import xyz.nucleoid.bedwars.game.generator.island.NoiseIslandConfig;
+import xyz.nucleoid.bedwars.game.generator.island.NoiseIslandGenerator;
 import xyz.nucleoid.plasmid.game.player.GameTeam;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
 
 public final class BwSkyMapBuilder {
     private final BwConfig config;
@@ -26,34 +29,72 @@ public final class BwSkyMapBuilder {
     }
 
     public BwMap build(MinecraftServer server) {
+        // maps without a configured seed are different every game, so there is no point in caching them
+        Optional<Long> configuredSeed = this.skyConfig.seed;
+        long seed = configuredSeed.orElseGet(() -> new Random().nextLong());
+
+        Optional<BwSkyMapCache> cache = configuredSeed.isPresent()
+                ? BwSkyMapCache.forConfig(this.skyConfig, this.config.teams, seed)
+                : Optional.empty();
+
         BwMap map = new BwMap();
 
+        MapTemplate template = cache.map(c -> c.loadInto(map)).orElse(null);
+        if (template == null) {
+            template = this.generate(map, seed);
+            if (cache.isPresent()) {
+                cache.get().save(map, template);
+            }
+        }
+
+        template.setBiome(this.skyConfig.theme.getFakingBiome());
+
+        BwSkyChunkGenerator generator = new BwSkyChunkGenerator(map, this.skyConfig, server, template, seed);
+        map.setChunkGenerator(generator);
+
+        return map;
+    }
+
+    private MapTemplate generate(BwMap map, long seed) {
         MapTemplate template = MapTemplate.createEmpty();
 
         BwCenterIsland centerIsland = this.buildCenterIsland();
         List<BwDiamondIsland> diamondIslands = this.buildDiamondIslands();
         List<BwTeamIsland> teamIslands = this.buildTeamIslands();
 
-        Random random = new Random();
+        Random random = new Random(seed);
 
-        centerIsland.addTo(map, template, random.nextLong());
+        // evaluate every noise island at once: only adding them to the template has to happen in order
+        ForkJoinTask<NoiseIslandGenerator.Raster> centerRaster = centerIsland.rasterizeAsync(random.nextLong());
 
+        List<ForkJoinTask<NoiseIslandGenerator.Raster>> diamondRasters = new ArrayList<>(diamondIslands.size());
         for (BwDiamondIsland diamondIsland : diamondIslands) {
-            diamondIsland.addTo(map, template, random.nextLong());
+            diamondRasters.add(diamondIsland.rasterizeAsync(random.nextLong()));
         }
 
-        for (BwTeamIsland teamIsland : teamIslands) {
-            teamIsland.addTo(this.skyConfig, map, template);
+        long[] teamSeeds = new long[teamIslands.size()];
+        for (int i = 0; i < teamSeeds.length; i++) {
+            teamSeeds[i] = random.nextLong();
         }
 
-        this.addSmallIslands(template, random);
+        List<ForkJoinTask<NoiseIslandGenerator.Raster>> smallIslandRasters = this.rasterizeSmallIslands(random);
 
-        template.setBiome(this.skyConfig.theme.getFakingBiome());
+        centerIsland.addTo(map, template, centerRaster.join());
 
-        BwSkyChunkGenerator generator = new BwSkyChunkGenerator(map, this.skyConfig, server, template);
-        map.setChunkGenerator(generator);
+        for (int i = 0; i < diamondIslands.size(); i++) {
+            diamondIslands.get(i).addTo(map, template, diamondRasters.get(i).join());
+        }
 
-        return map;
+        for (int i = 0; i < teamIslands.size(); i++) {
+            teamIslands.get(i).addTo(this.skyConfig, map, template, teamSeeds[i]);
+        }
+
+        // small islands check for space, so they are added after everything else as before
+        for (ForkJoinTask<NoiseIslandGenerator.Raster> raster : smallIslandRasters) {
+            raster.join().addTo(template);
+        }
+
+        return template;
     }
 
     private BwCenterIsland buildCenterIsland() {
@@ -93,7 +134,9 @@ public final class BwSkyMapBuilder {
         return teamIslands;
     }
 
-    private void addSmallIslands(MapTemplate template, Random random) {
+    private List<ForkJoinTask<NoiseIslandGenerator.Raster>> rasterizeSmallIslands(Random random) {
+        List<ForkJoinTask<NoiseIslandGenerator.Raster>> rasters = new ArrayList<>();
+
         for (int i = 0; i < this.skyConfig.smallIslandCount; i++) {
             int x = random.nextInt(this.skyConfig.smallIslandHorizontalSpread) - random.nextInt(this.skyConfig.smallIslandHorizontalSpread);
             int y = random.nextInt(this.skyConfig.smallIslandVerticalSpread) - random.nextInt(this.skyConfig.smallIslandVerticalSpread);
@@ -108,8 +151,10 @@ public final class BwSkyMapBuilder {
 
             // Add symmetrical islands
             NoiseIslandConfig smallIsland = this.skyConfig.smallIslandGenerator;
-            smallIsland.createGenerator(new BlockPos(x, 72 + y, z), seed).addTo(template);
-            smallIsland.createGenerator(new BlockPos(-x, 72 + y, -z), seed).addTo(template);
+            rasters.add(smallIsland.createGenerator(new BlockPos(x, 72 + y, z), seed).rasterizeAsync());
+            rasters.add(smallIsland.createGenerator(new BlockPos(-x, 72 + y, -z), seed).rasterizeAsync());
         }
+
+        return rasters;
     }
 }
@@ -0,0 +1,152 @@
+package xyz.nucleoid.bedwars.game.generator;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.bedwars.BedWars;
+import xyz.nucleoid.bedwars.game.BwMap;
+import xyz.nucleoid.bedwars.game.BwMapIndex;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+import xyz.nucleoid.plasmid.map.template.MapTemplate;
+import xyz.nucleoid.plasmid.map.template.MapTemplateSerializer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A local cache of generated sky maps with a fixed seed, so that a seed that is played often is loaded from disk
+ * rather than generated again. Each entry is the map template, next to a {@link BwMapIndex} sidecar holding the
+ * regions, and both are keyed by a SHA-256 hash of the sky config, the teams and the seed. The full hash names the
+ * files, so two configs only share an entry if their hashes collide. Settings that do not change the generated map,
+ * such as the pool size, are left out of the hash.
+ * <p>
+ * {@link #GENERATOR_VERSION} is part of the hash, and must be bumped whenever generation changes, so that maps built
+ * by an older generator are not loaded.
+ */
+final class BwSkyMapCache {
+    private static final int GENERATOR_VERSION = 1;
+
+    // a pool refill and a game opening can generate the same seed at the same time
+    private static final Object WRITE_LOCK = new Object();
+
+    private final List<GameTeam> teams;
+    private final long fingerprint;
+    private final Path indexPath;
+    private final Path templatePath;
+
+    private BwSkyMapCache(List<GameTeam> teams, byte[] hash) {
+        this.teams = teams;
+        // the index is checked against part of the hash, as the file name already holds all of it
+        this.fingerprint = ByteBuffer.wrap(hash).getLong();
+
+        StringBuilder name = new StringBuilder("sky/");
+        for (byte b : hash) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        this.indexPath = BwMapIndex.pathFor(new Identifier(BedWars.ID, name.toString()));
+        this.templatePath = this.indexPath.resolveSibling(this.indexPath.getFileName().toString().replace(".bwidx", ".nbt"));
+    }
+
+    /**
+     * @return the cache entry for the given config, or empty if the config cannot be hashed
+     */
+    static Optional<BwSkyMapCache> forConfig(BwSkyMapConfig config, List<GameTeam> teams, long seed) {
+        Optional<JsonElement> json = BwSkyMapConfig.CODEC.encodeStart(JsonOps.INSTANCE, config).result();
+        if (!json.isPresent() || !json.get().isJsonObject()) {
+            return Optional.empty();
+        }
+
+        JsonObject configJson = json.get().getAsJsonObject();
+        configJson.remove("pool_size");
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return Optional.empty();
+        }
+
+        ByteArrayOutputStream key = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(key)) {
+            output.writeInt(GENERATOR_VERSION);
+            output.writeLong(seed);
+            writeString(output, configJson.toString());
+
+            output.writeInt(teams.size());
+            for (GameTeam team : teams) {
+                writeString(output, team.getKey());
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new BwSkyMapCache(teams, digest.digest(key.toByteArray())));
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Loads the cached map into the given map.
+     *
+     * @return the cached template, or null if nothing is cached or the entry could not be read
+     */
+    @Nullable
+    MapTemplate loadInto(BwMap map) {
+        BwMapIndex index = BwMapIndex.read(this.indexPath, this.fingerprint, this.teams.size());
+        if (index == null) {
+            return null;
+        }
+
+        MapTemplate template;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(this.templatePath))) {
+            template = MapTemplateSerializer.INSTANCE.loadFrom(input);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            BedWars.LOGGER.warn("Failed to read cached sky map at {}", this.templatePath, e);
+            return null;
+        }
+
+        index.applyTo(map, this.teams);
+        return template;
+    }
+
+    /**
+     * Writes the given map and its template to the cache. The template is written before the index, so that an
+     * index is never read with a missing or partly written template.
+     */
+    void save(BwMap map, MapTemplate template) {
+        synchronized (WRITE_LOCK) {
+            this.write(map, template);
+        }
+    }
+
+    private void write(BwMap map, MapTemplate template) {
+        try {
+            BwMapIndex.writeAtomically(this.templatePath, output -> MapTemplateSerializer.INSTANCE.saveTo(template, output));
+
+            BwMapIndex.capture(map, this.teams).write(this.indexPath, this.fingerprint);
+        } catch (IOException e) {
+            BedWars.LOGGER.warn("Failed to write cached sky map to {}", this.templatePath, e);
+        }
+    }
+}
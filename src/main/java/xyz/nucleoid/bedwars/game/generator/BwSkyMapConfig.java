@@ -5,6 +5,8 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import xyz.nucleoid.bedwars.game.generator.island.NoiseIslandConfig;
 import xyz.nucleoid.bedwars.game.generator.theme.MapTheme;
 
+import java.util.Optional;
+
 public final class BwSkyMapConfig {
     public static final Codec<BwSkyMapConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             MapTheme.CODEC.fieldOf("theme").forGetter(generator -> generator.theme),
@@ -16,7 +18,9 @@ public final class BwSkyMapConfig {
             Codec.INT.fieldOf("small_island_count").forGetter(generator -> generator.smallIslandCount),
             Codec.INT.fieldOf("small_island_horizontal_spread").forGetter(generator -> generator.smallIslandHorizontalSpread),
             Codec.INT.fieldOf("small_island_vertical_spread").forGetter(generator -> generator.smallIslandVerticalSpread),
-            Codec.INT.fieldOf("small_island_cutoff").forGetter(generator -> generator.smallIslandCutoff)
+            Codec.INT.fieldOf("small_island_cutoff").forGetter(generator -> generator.smallIslandCutoff),
+            Codec.INT.optionalFieldOf("pool_size", 1).forGetter(generator -> generator.poolSize),
+            Codec.LONG.optionalFieldOf("seed").forGetter(generator -> generator.seed)
     ).apply(instance, BwSkyMapConfig::new));
 
     public final MapTheme theme;
@@ -29,8 +33,10 @@ public final class BwSkyMapConfig {
     public final int smallIslandHorizontalSpread;
     public final int smallIslandVerticalSpread;
     public final int smallIslandCutoff;
+    public final int poolSize;
+    public final Optional<Long> seed;
 
-    private BwSkyMapConfig(MapTheme theme, NoiseIslandConfig diamondGenerator, NoiseIslandConfig centerGenerator, NoiseIslandConfig smallIslandGenerator, double spawnIslandDistance, double diamondIslandDistance, int smallIslandCount, int smallIslandHorizontalSpread, int smallIslandVerticalSpread, int smallIslandCutoff) {
+    private BwSkyMapConfig(MapTheme theme, NoiseIslandConfig diamondGenerator, NoiseIslandConfig centerGenerator, NoiseIslandConfig smallIslandGenerator, double spawnIslandDistance, double diamondIslandDistance, int smallIslandCount, int smallIslandHorizontalSpread, int smallIslandVerticalSpread, int smallIslandCutoff, int poolSize, Optional<Long> seed) {
         this.theme = theme;
         this.diamondGenerator = diamondGenerator;
         this.centerGenerator = centerGenerator;
@@ -41,5 +47,7 @@ public final class BwSkyMapConfig {
         this.smallIslandHorizontalSpread = smallIslandHorizontalSpread;
         this.smallIslandVerticalSpread = smallIslandVerticalSpread;
         this.smallIslandCutoff = smallIslandCutoff;
+        this.poolSize = poolSize;
+        this.seed = seed;
     }
 }
@@ -8,6 +8,8 @@ import xyz.nucleoid.bedwars.game.BwMap;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 
+import java.util.concurrent.ForkJoinTask;
+
 public final class BwCenterIsland {
     private final NoiseIslandConfig config;
     private final BlockPos origin;
@@ -17,9 +19,12 @@ public final class BwCenterIsland {
         this.origin = origin;
     }
 
-    public void addTo(BwMap map, MapTemplate template, long seed) {
-        NoiseIslandGenerator generator = this.config.createGenerator(this.origin, seed);
-        generator.addTo(template);
+    public ForkJoinTask<NoiseIslandGenerator.Raster> rasterizeAsync(long seed) {
+        return this.config.createGenerator(this.origin, seed).rasterizeAsync();
+    }
+
+    public void addTo(BwMap map, MapTemplate template, NoiseIslandGenerator.Raster raster) {
+        raster.addTo(template);
 
         // TODO: scale with team count
         Direction[] horizontals = new Direction[] { Direction.NORTH, Direction.WEST, Direction.SOUTH, Direction.EAST };
@@ -7,6 +7,8 @@ import xyz.nucleoid.bedwars.game.BwMap;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 
+import java.util.concurrent.ForkJoinTask;
+
 public final class BwDiamondIsland {
     private final NoiseIslandConfig config;
     private final BlockPos origin;
@@ -16,9 +18,12 @@ public final class BwDiamondIsland {
         this.origin = origin;
     }
 
-    public void addTo(BwMap map, MapTemplate template, long seed) {
-        NoiseIslandGenerator island = this.config.createGenerator(this.origin, seed);
-        island.addTo(template);
+    public ForkJoinTask<NoiseIslandGenerator.Raster> rasterizeAsync(long seed) {
+        return this.config.createGenerator(this.origin, seed).rasterizeAsync();
+    }
+
+    public void addTo(BwMap map, MapTemplate template, NoiseIslandGenerator.Raster raster) {
+        raster.addTo(template);
 
         this.addDiamondSpawner(map, template);
     }
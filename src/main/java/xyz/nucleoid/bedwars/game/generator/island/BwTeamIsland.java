@@ -38,10 +38,10 @@ public final class BwTeamIsland {
         this.direction = Direction.fromRotation(Math.toDegrees(angle) + 90.0);
     }
 
-    public void addTo(BwSkyMapConfig config, BwMap map, MapTemplate template) {
+    public void addTo(BwSkyMapConfig config, BwMap map, MapTemplate template, long seed) {
         BlockPos origin = BwTeamIsland.this.origin;
         BlockState terracotta = ColoredBlocks.terracotta(BwTeamIsland.this.team.getDye()).getDefaultState();
-        Random random = new Random();
+        Random random = new Random(seed);
 
         for (BlockPos pos : this.bounds) {
             int deltaX = pos.getX() - origin.getX();
@@ -2,7 +2,6 @@ package xyz.nucleoid.bedwars.game.generator.island;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import kdotjpg.opensimplex.OpenSimplexNoise;
 import net.minecraft.util.math.BlockPos;
 
 public final class NoiseIslandConfig {
@@ -41,6 +40,6 @@ public final class NoiseIslandConfig {
     }
 
     public NoiseIslandGenerator createGenerator(BlockPos origin, long seed) {
-        return new NoiseIslandGenerator(this, origin, new OpenSimplexNoise(seed));
+        return new NoiseIslandGenerator(this, origin, seed);
     }
 }
@@ -4,86 +4,297 @@ import kdotjpg.opensimplex.OpenSimplexNoise;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.util.BlockBounds;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
 
 public final class NoiseIslandGenerator {
+    private static final int SLAB_HEIGHT = 4;
+    private static final long SLAB_SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    // OpenSimplex noise stays within [-1, 1], so the shape noise never pushes a block past this squared distance
+    private static final double NOISE_BOUND = 1.0;
+    private static final double SHAPE_SCALE = 0.5;
+    private static final double MAX_SHAPE_DISTANCE2 = 1.0 + NOISE_BOUND * SHAPE_SCALE;
+
+    // lattice points are at most this far apart in noise space, which keeps interpolation close to the real noise
+    private static final double MAX_CELL_STEP = 0.5;
+    private static final int MAX_CELL_SIZE = 4;
+
+    // island noise runs on its own low-priority pool rather than the common pool, which the rest of the server shares,
+    // so that background pool refills do not compete with the server at full priority
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("BedWars Island Generator #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            null, false
+    );
+
     private final NoiseIslandConfig config;
     private final BlockPos origin;
     private final BlockBounds bounds;
     private final OpenSimplexNoise noise;
+    private final long seed;
 
-    public NoiseIslandGenerator(NoiseIslandConfig config, BlockPos origin, OpenSimplexNoise noise) {
+    public NoiseIslandGenerator(NoiseIslandConfig config, BlockPos origin, long seed) {
         this.config = config;
         this.origin = origin;
         this.bounds = new BlockBounds(
                 origin.add(-config.radius, -config.radius, -config.radius),
                 origin.add(config.radius, config.radius, config.radius)
         );
-        this.noise = noise;
+        this.noise = new OpenSimplexNoise(seed);
+        this.seed = seed;
     }
 
     public void addTo(MapTemplate template) {
-        BlockPos origin = this.origin;
-        OpenSimplexNoise noiseSampler = this.noise;
+        this.rasterize().addTo(template);
+    }
+
+    /**
+     * Starts rasterizing this island on the island generator pool. The result can be added to a template once it is
+     * joined, so that several islands can be evaluated at the same time.
+     */
+    public ForkJoinTask<Raster> rasterizeAsync() {
+        return POOL.submit(this::rasterizeInPool);
+    }
 
-        double noiseHorizontalFrequency = this.config.noiseHorizontalFrequency;
-        double noiseVerticalFrequency = this.config.noiseVerticalFrequency;
+    /**
+     * Evaluates the island shape without touching any template. Both noise fields are first sampled on a coarse
+     * lattice, and the bounding cube is then split into horizontal slabs of {@link #SLAB_HEIGHT} layers, which are
+     * evaluated in parallel into their own buffers. Each slab has its own random for ore placement, seeded from the
+     * island seed and the slab index, so the result does not depend on how the slabs are scheduled.
+     * <p>
+     * All of this work runs on the island generator pool, and the calling thread only waits for it.
+     */
+    public Raster rasterize() {
+        if (ForkJoinTask.getPool() == POOL) {
+            return this.rasterizeInPool();
+        }
+        return POOL.invoke(ForkJoinTask.adapt(this::rasterizeInPool));
+    }
 
-        int radius = this.config.radius;
-        double freq = 1.0 / (radius / 2.0);
+    private Raster rasterizeInPool() {
+        int size = this.config.radius * 2 + 1;
 
-        BlockState state;
-        Random random = new Random();
+        NoiseIslandConfig config = this.config;
+        double shapeFrequency = this.getShapeFrequency();
+        double horizontalFrequency = config.noiseHorizontalFrequency;
+        double verticalFrequency = config.noiseVerticalFrequency;
 
-        // Check space if enabled
-        if (config.checkSpace) {
-            for (BlockPos pos : this.bounds) {
-                // Don't generate if there is something blocking here
-                if (!template.getBlockState(pos).isAir()) {
-                    return;
-                }
+        int shapeCell = NoiseLattice.cellSize(shapeFrequency, MAX_CELL_STEP, MAX_CELL_SIZE);
+        NoiseLattice shape = new NoiseLattice(size, shapeCell, shapeCell);
+        NoiseLattice density = new NoiseLattice(
+                size,
+                NoiseLattice.cellSize(horizontalFrequency, MAX_CELL_STEP, MAX_CELL_SIZE),
+                NoiseLattice.cellSize(verticalFrequency, MAX_CELL_STEP, MAX_CELL_SIZE)
+        );
+
+        List<ForkJoinTask<?>> samplingTasks = new ArrayList<>();
+        for (int y = 0; y < shape.getPointsY(); y++) {
+            int latticeY = y;
+            samplingTasks.add(ForkJoinTask.adapt(() -> this.sampleLayer(shape, latticeY, shapeFrequency, shapeFrequency, SHAPE_SCALE)));
+        }
+        for (int y = 0; y < density.getPointsY(); y++) {
+            int latticeY = y;
+            samplingTasks.add(ForkJoinTask.adapt(() -> this.sampleLayer(density, latticeY, horizontalFrequency, verticalFrequency, 1.0)));
+        }
+
+        ForkJoinTask.invokeAll(samplingTasks);
+
+        int slabCount = (size + SLAB_HEIGHT - 1) / SLAB_HEIGHT;
+
+        List<SlabTask> tasks = new ArrayList<>(slabCount);
+        for (int slab = 0; slab < slabCount; slab++) {
+            tasks.add(new SlabTask(slab, shape, density));
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+
+        BlockState[][] slabs = new BlockState[slabCount][];
+        for (int slab = 0; slab < slabCount; slab++) {
+            slabs[slab] = tasks.get(slab).getRawResult();
+        }
+
+        return new Raster(slabs);
+    }
+
+    private double getShapeFrequency() {
+        return 1.0 / (this.config.radius / 2.0);
+    }
+
+    private void sampleLayer(NoiseLattice lattice, int latticeY, double horizontalFrequency, double verticalFrequency, double scale) {
+        BlockPos min = this.bounds.getMin();
+        OpenSimplexNoise noiseSampler = this.noise;
+
+        int cellXZ = lattice.getCellXZ();
+        int cellY = lattice.getCellY();
+
+        double noiseY = (min.getY() + latticeY * cellY) * verticalFrequency;
+        for (int z = 0; z < lattice.getPointsXZ(); z++) {
+            double noiseZ = (min.getZ() + z * cellXZ) * horizontalFrequency;
+            for (int x = 0; x < lattice.getPointsXZ(); x++) {
+                double noiseX = (min.getX() + x * cellXZ) * horizontalFrequency;
+                lattice.set(x, latticeY, z, noiseSampler.eval(noiseX, noiseY, noiseZ) * scale);
             }
         }
+    }
 
-        for (BlockPos pos : this.bounds) {
-            state = Blocks.STONE.getDefaultState();
+    private BlockState[] rasterizeSlab(int slab, NoiseLattice shape, NoiseLattice density) {
+        BlockPos origin = this.origin;
+        NoiseIslandConfig config = this.config;
 
-            double localX = ((double)(pos.getX() - origin.getX())) / radius;
-            double localY = ((double)(pos.getY() - origin.getY())) / radius;
-            double localZ = ((double)(pos.getZ() - origin.getZ())) / radius;
-            double distance2 = localX * localX + localY * localY + localZ * localZ;
+        int radius = config.radius;
+        int size = radius * 2 + 1;
 
-            double shapeNoise = noiseSampler.eval(pos.getX() * freq, pos.getY() * freq, pos.getZ() * freq) * 0.5;
+        BlockState stone = Blocks.STONE.getDefaultState();
+        BlockState goldOre = Blocks.GOLD_ORE.getDefaultState();
+        BlockState diamondOre = Blocks.DIAMOND_ORE.getDefaultState();
 
-            // Place stone based on noise
-            if (distance2 <= 1 + shapeNoise) {
-                double noiseX = pos.getX() * noiseHorizontalFrequency;
-                double noiseY = pos.getY() * noiseVerticalFrequency;
-                double noiseZ = pos.getZ() * noiseHorizontalFrequency;
+        Random random = new Random(this.seed ^ (slab * SLAB_SEED_MULTIPLIER));
 
-                double noise = noiseSampler.eval(noiseX, noiseY, noiseZ);
-                noise += this.computeNoiseFalloff(pos.getY() - origin.getY());
+        int minOffsetY = slab * SLAB_HEIGHT;
+        int maxOffsetY = Math.min(minOffsetY + SLAB_HEIGHT, size) - 1;
 
-                if (config.goldOreChance > 1 && random.nextInt(config.goldOreChance) == 0) {
-                    state = Blocks.GOLD_ORE.getDefaultState();
-                }
+        BlockState[] states = new BlockState[(maxOffsetY - minOffsetY + 1) * size * size];
+
+        for (int offsetY = minOffsetY; offsetY <= maxOffsetY; offsetY++) {
+            int localBlockY = offsetY - radius;
+
+            // no block in this layer can pass the density check, even at the highest noise value
+            double falloff = this.computeNoiseFalloff(localBlockY);
+            if (falloff + NOISE_BOUND <= 0) {
+                continue;
+            }
+
+            double localY = (double) localBlockY / radius;
 
-                if (config.diamondOreChance > 1 && random.nextInt(config.diamondOreChance) == 0) {
-                    state = Blocks.DIAMOND_ORE.getDefaultState();
+            for (int offsetZ = 0; offsetZ < size; offsetZ++) {
+                double localZ = (double) (offsetZ - radius) / radius;
+
+                // skip the parts of this row that are outside the sphere the shape noise can reach
+                double remaining2 = MAX_SHAPE_DISTANCE2 - localY * localY - localZ * localZ;
+                if (remaining2 < 0) {
+                    continue;
                 }
 
-                if (noise > 0) {
-                    template.setBlockState(pos, state);
+                int extent = Math.min(radius, MathHelper.floor(Math.sqrt(remaining2) * radius));
+                int rowIndex = ((offsetY - minOffsetY) * size + offsetZ) * size;
+
+                for (int offsetX = radius - extent; offsetX <= radius + extent; offsetX++) {
+                    double localX = (double) (offsetX - radius) / radius;
+                    double distance2 = localX * localX + localY * localY + localZ * localZ;
+
+                    double shapeNoise = shape.sample(offsetX, offsetY, offsetZ);
+
+                    // Place stone based on noise
+                    if (distance2 <= 1 + shapeNoise) {
+                        double noise = density.sample(offsetX, offsetY, offsetZ) + falloff;
+
+                        BlockState state = stone;
+                        if (config.goldOreChance > 1 && random.nextInt(config.goldOreChance) == 0) {
+                            state = goldOre;
+                        }
+
+                        if (config.diamondOreChance > 1 && random.nextInt(config.diamondOreChance) == 0) {
+                            state = diamondOre;
+                        }
+
+                        if (noise > 0) {
+                            states[rowIndex + offsetX] = state;
+                        }
+                    }
                 }
             }
         }
+
+        return states;
     }
 
     private double computeNoiseFalloff(int y) {
         NoiseIslandConfig config = this.config;
         return (config.falloffMultiplier * (config.falloffStrength / (y + config.radius))) + config.falloffOffset;
     }
+
+    private final class SlabTask extends RecursiveTask<BlockState[]> {
+        private final int slab;
+        private final NoiseLattice shape;
+        private final NoiseLattice density;
+
+        SlabTask(int slab, NoiseLattice shape, NoiseLattice density) {
+            this.slab = slab;
+            this.shape = shape;
+            this.density = density;
+        }
+
+        @Override
+        protected BlockState[] compute() {
+            return NoiseIslandGenerator.this.rasterizeSlab(this.slab, this.shape, this.density);
+        }
+    }
+
+    /**
+     * The evaluated blocks of an island, stored as one buffer per slab in y, z, x order with null for air.
+     */
+    public final class Raster {
+        private final BlockState[][] slabs;
+
+        Raster(BlockState[][] slabs) {
+            this.slabs = slabs;
+        }
+
+        /**
+         * Adds this island to the given template, one slab after another. If the island checks for space and anything
+         * is already within its bounds, nothing is added.
+         *
+         * @return whether the island was added
+         */
+        public boolean addTo(MapTemplate template) {
+            NoiseIslandGenerator generator = NoiseIslandGenerator.this;
+
+            // Check space if enabled
+            if (generator.config.checkSpace) {
+                for (BlockPos pos : generator.bounds) {
+                    // Don't generate if there is something blocking here
+                    if (!template.getBlockState(pos).isAir()) {
+                        return false;
+                    }
+                }
+            }
+
+            BlockPos min = generator.bounds.getMin();
+            int size = generator.config.radius * 2 + 1;
+
+            BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+            for (int slab = 0; slab < this.slabs.length; slab++) {
+                BlockState[] states = this.slabs[slab];
+                int minY = min.getY() + slab * SLAB_HEIGHT;
+
+                for (int index = 0; index < states.length; index++) {
+                    BlockState state = states[index];
+                    if (state != null) {
+                        int x = index % size;
+                        int z = (index / size) % size;
+                        int y = index / (size * size);
+                        template.setBlockState(mutablePos.set(min.getX() + x, minY + y, min.getZ() + z), state);
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
 }
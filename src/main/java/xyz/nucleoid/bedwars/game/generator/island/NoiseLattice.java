@@ -0,0 +1,97 @@
+package xyz.nucleoid.bedwars.game.generator.island;
+
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Samples of a noise field on a coarse lattice over a cube of blocks, which are trilinearly interpolated to estimate
+ * the field at every block in between, much like vanilla terrain noise.
+ * <p>
+ * Lattice points are {@code cellXZ} blocks apart horizontally and {@code cellY} blocks apart vertically, starting at
+ * the minimum corner of the cube. A cell size of 1 samples every block, and interpolation then returns the samples
+ * exactly.
+ */
+final class NoiseLattice {
+    private final int cellXZ;
+    private final int cellY;
+    private final int pointsXZ;
+    private final int pointsY;
+    private final double[] samples;
+
+    private final int[] lowerXZ;
+    private final double[] deltaXZ;
+    private final int[] lowerY;
+    private final double[] deltaY;
+
+    NoiseLattice(int size, int cellXZ, int cellY) {
+        this.cellXZ = cellXZ;
+        this.cellY = cellY;
+        this.pointsXZ = (size - 1 + cellXZ - 1) / cellXZ + 1;
+        this.pointsY = (size - 1 + cellY - 1) / cellY + 1;
+        this.samples = new double[this.pointsY * this.pointsXZ * this.pointsXZ];
+
+        this.lowerXZ = new int[size];
+        this.deltaXZ = new double[size];
+        this.lowerY = new int[size];
+        this.deltaY = new double[size];
+
+        for (int offset = 0; offset < size; offset++) {
+            this.lowerXZ[offset] = offset / cellXZ;
+            this.deltaXZ[offset] = (double) (offset % cellXZ) / cellXZ;
+            this.lowerY[offset] = offset / cellY;
+            this.deltaY[offset] = (double) (offset % cellY) / cellY;
+        }
+    }
+
+    /**
+     * Picks the largest cell size, up to {@code maxCell}, for which neighbouring lattice points are at most
+     * {@code maxStep} apart in noise space.
+     */
+    static int cellSize(double frequency, double maxStep, int maxCell) {
+        return MathHelper.clamp(MathHelper.floor(maxStep / frequency), 1, maxCell);
+    }
+
+    int getCellXZ() {
+        return this.cellXZ;
+    }
+
+    int getCellY() {
+        return this.cellY;
+    }
+
+    int getPointsXZ() {
+        return this.pointsXZ;
+    }
+
+    int getPointsY() {
+        return this.pointsY;
+    }
+
+    void set(int x, int y, int z, double value) {
+        this.samples[this.index(x, y, z)] = value;
+    }
+
+    /**
+     * Estimates the field at the given block offset from the minimum corner of the cube.
+     */
+    double sample(int x, int y, int z) {
+        int x0 = this.lowerXZ[x];
+        int y0 = this.lowerY[y];
+        int z0 = this.lowerXZ[z];
+        int x1 = Math.min(x0 + 1, this.pointsXZ - 1);
+        int y1 = Math.min(y0 + 1, this.pointsY - 1);
+        int z1 = Math.min(z0 + 1, this.pointsXZ - 1);
+
+        double[] samples = this.samples;
+        return MathHelper.lerp3(
+                this.deltaXZ[x], this.deltaY[y], this.deltaXZ[z],
+                samples[this.index(x0, y0, z0)], samples[this.index(x1, y0, z0)],
+                samples[this.index(x0, y1, z0)], samples[this.index(x1, y1, z0)],
+                samples[this.index(x0, y0, z1)], samples[this.index(x1, y0, z1)],
+                samples[this.index(x0, y1, z1)], samples[this.index(x1, y1, z1)]
+        );
+    }
+
+    private int index(int x, int y, int z) {
+        return (y * this.pointsXZ + z) * this.pointsXZ + x;
+    }
+}
@@ -0,0 +1,77 @@
+package xyz.nucleoid.bedwars.mixin;
+
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import xyz.nucleoid.bedwars.game.active.BwItemGenerator;
+import xyz.nucleoid.bedwars.game.active.GeneratorItem;
+
+@Mixin(ItemEntity.class)
+public abstract class ItemEntityMixin implements GeneratorItem {
+    @Shadow
+    private int age;
+    @Shadow
+    private int pickupDelay;
+
+    @Unique
+    private BwItemGenerator generator;
+    @Unique
+    private int trackedCount;
+
+    @Inject(method = "setStack", at = @At("TAIL"))
+    private void setStack(CallbackInfo ci) {
+        GeneratorItem.update((ItemEntity) (Object) this);
+    }
+
+    @Inject(method = "onPlayerCollision", at = @At("TAIL"))
+    private void onPlayerCollision(PlayerEntity player, CallbackInfo ci) {
+        GeneratorItem.collect((ItemEntity) (Object) this, player);
+    }
+
+    @Inject(method = "tryMerge(Lnet/minecraft/entity/ItemEntity;)V", at = @At("TAIL"))
+    private void tryMerge(ItemEntity other, CallbackInfo ci) {
+        BwItemGenerator generator = this.generator;
+        GeneratorItem otherItem = (GeneratorItem) other;
+
+        // if our item was merged into an untracked one, the generator follows the merged stack
+        if (generator != null && otherItem.bedwars$getGenerator() == null && !other.removed) {
+            generator.trackItem(other);
+        }
+
+        GeneratorItem.update((ItemEntity) (Object) this);
+        GeneratorItem.update(other);
+    }
+
+    @Nullable
+    @Override
+    public BwItemGenerator bedwars$getGenerator() {
+        return this.generator;
+    }
+
+    @Override
+    public void bedwars$setGenerator(@Nullable BwItemGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public int bedwars$getTrackedCount() {
+        return this.trackedCount;
+    }
+
+    @Override
+    public void bedwars$setTrackedCount(int count) {
+        this.trackedCount = count;
+    }
+
+    @Override
+    public void bedwars$onMerged(int pickupDelay) {
+        this.age = 0;
+        this.pickupDelay = Math.max(this.pickupDelay, pickupDelay);
+    }
+}
@@ -0,0 +1,42 @@
+package xyz.nucleoid.bedwars.game.active;
+
+import org.junit.jupiter.api.Test;
+import xyz.nucleoid.plasmid.game.player.GameTeam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class MatchSimulatorTest {
+    private static final long SEED = 24301;
+    private static final long MAX_TICKS = 20 * 60 * 60;
+
+    @Test
+    public void sameSeedPlaysSameMatch() {
+        MatchSimulator.Result first = new MatchSimulator(8, 4, SEED, MAX_TICKS).run();
+        MatchSimulator.Result second = new MatchSimulator(8, 4, SEED, MAX_TICKS).run();
+
+        assertEquals(first.ticks, second.ticks);
+        assertEquals(first.finished, second.finished);
+        assertEquals(teamKey(first.winner), teamKey(second.winner));
+        assertEquals(first.kills, second.kills);
+        assertEquals(first.finalKills, second.finalKills);
+        assertEquals(first.bedsBroken, second.bedsBroken);
+        assertEquals(first.produced, second.produced);
+        assertEquals(first.collected, second.collected);
+        assertEquals(first.transferred, second.transferred);
+        assertEquals(first.spent, second.spent);
+    }
+
+    @Test
+    public void matchEndsThroughWinState() {
+        MatchSimulator.Result result = new MatchSimulator(4, 2, SEED, MAX_TICKS).run();
+
+        assertTrue(result.finished, "match did not finish within " + MAX_TICKS + " ticks");
+        assertTrue(result.finalKills > 0);
+        assertTrue(result.produced >= result.collected);
+    }
+
+    private static String teamKey(GameTeam team) {
+        return team != null ? team.getKey() : null;
+    }
+}